@@ -0,0 +1,106 @@
+package sv.projects.listperfcomp.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH counterpart of the hand-rolled {@link sv.projects.listperfcomp.ListRunner} loop.
+ * <br>
+ * Each concrete subclass is a <code>@State(Scope.Group)</code> holding one list type, so both threads of a group
+ * share the same list, exactly like the two <code>ListRunner</code> tasks share a list under test.
+ * The <code>get</code> and <code>add</code> groups run one thread on the first half and one thread on the second half
+ * of the list. Results of <code>get()</code> are consumed by a <code>Blackhole</code>, so the JIT can not elide the calls.
+ * <br>
+ * The <code>add</code> group runs in {@link Mode#SingleShotTime} with a fixed batch of {@value #ADD_BATCH} adds per thread
+ * after the list is populated, so the list grows by a bounded number of elements in every iteration - in the average time mode
+ * it would grow for the whole iteration, the time per add would drift with the iteration length and
+ * e.g. a <code>CopyOnWriteArrayList</code>, copying its array on every add, would turn quadratic.
+ * The score of the <code>add</code> group is the time of the whole batch of a thread, divide it by {@value #ADD_BATCH}.
+ * <br>
+ * NOTE, <code>ArrayList</code> and <code>LinkedList</code> are not thread-safe, the <code>add</code> group
+ * may fail for them in the same way the interactive comparator does.
+ */
+
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class AbstractListBenchmark {
+    static final int ADD_BATCH = 1000;          // adds per thread in every iteration of the add group
+
+    @Param({"1000"})
+    public int listSize;
+    @Param({"0"})
+    public int valueFrom;
+    @Param({"100"})
+    public int valueTo;
+
+    protected List<Integer> list;
+
+    protected abstract List<Integer> newList();
+
+    @Setup(Level.Iteration)
+    public void populateList() {
+        list = newList();
+        for (int i = 0; i < listSize; i++) {
+            // random int from valueFrom included till valueTo excluded
+            list.add((int) (Math.random() * (valueTo - valueFrom) + valueFrom));
+        }
+    }
+
+    /**
+     * Per-thread index walking through the assigned half of the list.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        int next(int from, int to) {
+            if (index < from || index >= to) {
+                index = from;
+            }
+            return index++;
+        }
+    }
+
+    @Benchmark
+    @Group("get")
+    @GroupThreads(1)
+    public void getFirstHalf(Cursor cursor, Blackhole blackhole) {
+        blackhole.consume(list.get(cursor.next(0, listSize / 2)));
+    }
+
+    @Benchmark
+    @Group("get")
+    @GroupThreads(1)
+    public void getSecondHalf(Cursor cursor, Blackhole blackhole) {
+        blackhole.consume(list.get(cursor.next(listSize / 2, listSize)));
+    }
+
+    @Benchmark
+    @Group("add")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 20, batchSize = ADD_BATCH)
+    @Measurement(iterations = 20, batchSize = ADD_BATCH)
+    public boolean addFirstHalf(Cursor cursor) {
+        return list.add(cursor.next(0, listSize / 2));
+    }
+
+    @Benchmark
+    @Group("add")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 20, batchSize = ADD_BATCH)
+    @Measurement(iterations = 20, batchSize = ADD_BATCH)
+    public boolean addSecondHalf(Cursor cursor) {
+        return list.add(cursor.next(listSize / 2, listSize));
+    }
+}
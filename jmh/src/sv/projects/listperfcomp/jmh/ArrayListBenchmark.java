@@ -0,0 +1,16 @@
+package sv.projects.listperfcomp.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JMH <code>get()</code>/<code>add()</code> groups (see {@link AbstractListBenchmark}) for <code>ArrayList</code>.
+ */
+
+public class ArrayListBenchmark extends AbstractListBenchmark {
+
+    @Override
+    protected List<Integer> newList() {
+        return new ArrayList<>();
+    }
+}
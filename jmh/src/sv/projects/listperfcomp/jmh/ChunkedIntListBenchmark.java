@@ -0,0 +1,17 @@
+package sv.projects.listperfcomp.jmh;
+
+import sv.projects.listperfcomp.lists.ChunkedIntList;
+
+import java.util.List;
+
+/**
+ * JMH <code>get()</code>/<code>add()</code> groups (see {@link AbstractListBenchmark}) for <code>ChunkedIntList</code>.
+ */
+
+public class ChunkedIntListBenchmark extends AbstractListBenchmark {
+
+    @Override
+    protected List<Integer> newList() {
+        return new ChunkedIntList();
+    }
+}
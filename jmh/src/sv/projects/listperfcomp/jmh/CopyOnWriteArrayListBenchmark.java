@@ -0,0 +1,16 @@
+package sv.projects.listperfcomp.jmh;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * JMH <code>get()</code>/<code>add()</code> groups (see {@link AbstractListBenchmark}) for <code>CopyOnWriteArrList</code>.
+ */
+
+public class CopyOnWriteArrayListBenchmark extends AbstractListBenchmark {
+
+    @Override
+    protected List<Integer> newList() {
+        return new CopyOnWriteArrayList<>();
+    }
+}
@@ -0,0 +1,40 @@
+package sv.projects.listperfcomp.jmh;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Launches all the list benchmarks of this module with the list parameters of the interactive comparator.
+ * Called from {@link sv.projects.listperfcomp.PerformanceComparator} reflectively, or through {@link #main(String[])}
+ * in a forked JVM, so the core module does not depend on JMH. JMH prints the <code>Score</code> together with its <code>Error</code>
+ * (99.9% confidence interval) for every list type and group.
+ */
+
+public class JmhLauncher {
+
+    private JmhLauncher() {
+    }
+
+    /**
+     * @param listIniPars [listSize, valueFrom, valueTo] - see the comparator list parameters
+     */
+    public static void launch(int[] listIniPars) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JmhLauncher.class.getPackage().getName() + ".*Benchmark")
+                .param("listSize", String.valueOf(listIniPars[0]))
+                .param("valueFrom", String.valueOf(listIniPars[1]))
+                .param("valueTo", String.valueOf(listIniPars[2]))
+                .build();
+        new Runner(options).run();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        if (args.length == 3) {
+            launch(new int[]{Integer.parseInt(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2])});
+        } else {
+            launch(new int[]{1000, 0, 100});
+        }
+    }
+}
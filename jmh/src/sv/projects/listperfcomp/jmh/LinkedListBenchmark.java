@@ -0,0 +1,16 @@
+package sv.projects.listperfcomp.jmh;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * JMH <code>get()</code>/<code>add()</code> groups (see {@link AbstractListBenchmark}) for <code>LinkedList</code>.
+ */
+
+public class LinkedListBenchmark extends AbstractListBenchmark {
+
+    @Override
+    protected List<Integer> newList() {
+        return new LinkedList<>();
+    }
+}
@@ -0,0 +1,17 @@
+package sv.projects.listperfcomp.jmh;
+
+import sv.projects.listperfcomp.lists.LockFreeAppendList;
+
+import java.util.List;
+
+/**
+ * JMH <code>get()</code>/<code>add()</code> groups (see {@link AbstractListBenchmark}) for <code>LockFreeAppendList</code>.
+ */
+
+public class LockFreeAppendListBenchmark extends AbstractListBenchmark {
+
+    @Override
+    protected List<Integer> newList() {
+        return new LockFreeAppendList<>();
+    }
+}
@@ -0,0 +1,17 @@
+package sv.projects.listperfcomp.jmh;
+
+import sv.projects.listperfcomp.lists.OffHeapIntList;
+
+import java.util.List;
+
+/**
+ * JMH <code>get()</code>/<code>add()</code> groups (see {@link AbstractListBenchmark}) for <code>OffHeapIntList</code>.
+ */
+
+public class OffHeapIntListBenchmark extends AbstractListBenchmark {
+
+    @Override
+    protected List<Integer> newList() {
+        return new OffHeapIntList();
+    }
+}
@@ -0,0 +1,17 @@
+package sv.projects.listperfcomp.jmh;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JMH <code>get()</code>/<code>add()</code> groups (see {@link AbstractListBenchmark}) for <code>SynchronizedRandomAccessList</code>.
+ */
+
+public class SynchronizedListBenchmark extends AbstractListBenchmark {
+
+    @Override
+    protected List<Integer> newList() {
+        return Collections.synchronizedList(new ArrayList<>());
+    }
+}
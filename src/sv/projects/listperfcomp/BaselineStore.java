@@ -0,0 +1,228 @@
+package sv.projects.listperfcomp;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A local store of baseline results for the regression check of the batch mode (see {@link BatchRunner}).
+ * <br>
+ * The throughput of every list (operations of all the threads per second) is stored under the key
+ * execution model, list type, size, value range, random seed, action and number of threads,
+ * one tab separated line per key together with the JVM version and the GC of the run that measured it.
+ * A later run is compared key by key, a list/action combination regresses when its throughput
+ * falls more than the tolerance below the baseline. Keys that are not in the store yet are added to it.
+ * A baseline measured on another JVM or GC is compared as well, e.g. to check a JDK upgrade, the report names its JVM and GC.
+ */
+
+final class BaselineStore {
+    static final double DEFAULT_TOLERANCE_PERCENTAGE = 10;
+    private static final String HEADER = "execution\tlist\tsize\tvalues\tseed\taction\tthreads\tlist_ops_per_s\tjvm\tgc";
+    private static final int KEY_COLUMNS = 7;
+
+    enum Verdict {
+        NEW, OK, IMPROVED, REGRESSED
+    }
+
+    private final Path file;
+    private final Map<String, Baseline> baselines = new TreeMap<>();     // by key, see getKey()
+
+    private BaselineStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @return the store of the file, empty if the file does not exist yet
+     */
+    static BaselineStore load(Path file) throws IOException {
+        BaselineStore store = new BaselineStore(file);
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (line.isEmpty() || line.equals(HEADER)) {
+                    continue;
+                }
+                String[] columns = line.split("\t");
+                if (columns.length != KEY_COLUMNS + 3) {
+                    throw new IOException("Incorrect baseline line [" + line + "] in " + file);
+                }
+                try {
+                    store.baselines.put(String.join("\t", Arrays.copyOf(columns, KEY_COLUMNS)),
+                            new Baseline(Long.parseLong(columns[KEY_COLUMNS]), columns[KEY_COLUMNS + 1], columns[KEY_COLUMNS + 2]));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Incorrect baseline line [" + line + "] in " + file);
+                }
+            }
+        }
+        return store;
+    }
+
+    static String getJvm() {
+        return System.getProperty("java.vendor") + " " + System.getProperty("java.runtime.version");
+    }
+
+    /**
+     * @param config the configuration of the run that produced the result
+     */
+    static String getKey(ListTestResult result, BenchmarkConfig config) {
+        return String.join("\t", config.getExecutionModel().name(), result.getListType(),
+                String.valueOf(result.getListSize()), getValueRange(config), String.valueOf(config.getRandomSeed()),
+                result.getWorkload().getName(), String.valueOf(result.getNumberOfThreads()));
+    }
+
+    private static String getValueRange(BenchmarkConfig config) {
+        return config.getListIniPars()[1] + ":" + config.getListIniPars()[2];
+    }
+
+    static Verdict getVerdict(long baselineOpsPerSecond, long opsPerSecond, double tolerancePercentage) {
+        if (opsPerSecond < baselineOpsPerSecond * (1 - tolerancePercentage / 100)) {
+            return Verdict.REGRESSED;
+        }
+        return opsPerSecond > baselineOpsPerSecond * (1 + tolerancePercentage / 100) ? Verdict.IMPROVED : Verdict.OK;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    Long getBaselineOpsPerSecond(String key) {
+        Baseline baseline = baselines.get(key);
+        return baseline == null ? null : baseline.opsPerSecond;
+    }
+
+    /**
+     * Compares the results with the baseline and adds the results of the new keys to the store.
+     *
+     * @param config  the configuration of the run that produced the results
+     * @param replace true - the baseline of the compared keys is replaced by the results as well
+     * @return the differences in the order of the results
+     */
+    List<Difference> compareAndRecord(List<ListTestResult> results, BenchmarkConfig config, double tolerancePercentage, boolean replace) {
+        List<Difference> differences = new ArrayList<>();
+        for (ListTestResult result : results) {
+            String key = getKey(result, config);
+            Baseline baseline = baselines.get(key);
+            long opsPerSecond = result.getListOpsPerSecond();
+            differences.add(baseline == null ? new Difference(result, null, opsPerSecond, Verdict.NEW)
+                    : new Difference(result, baseline, opsPerSecond, getVerdict(baseline.opsPerSecond, opsPerSecond, tolerancePercentage)));
+            if (baseline == null || replace) {
+                baselines.put(key, new Baseline(opsPerSecond, getJvm(), GcStats.getCollectorNames()));
+            }
+        }
+        return differences;
+    }
+
+    void write() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (Map.Entry<String, Baseline> entry : baselines.entrySet()) {
+            Baseline baseline = entry.getValue();
+            lines.add(String.join("\t", entry.getKey(), String.valueOf(baseline.opsPerSecond), baseline.jvm, baseline.gc));
+        }
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Prints the diff report of the comparison.
+     *
+     * @return the number of regressions
+     */
+    static int printReport(List<Difference> differences, Path file, BenchmarkConfig config, double tolerancePercentage) {
+        System.out.format("\nBaseline comparison with %s  -  %s, GC %s, %s, values [%s], seed %d, tolerance %.1f%%\n", file, getJvm(),
+                GcStats.getCollectorNames(), config.getExecutionModel(), getValueRange(config), config.getRandomSeed(), tolerancePercentage);
+        int regressions = 0;
+        int newKeys = 0;
+        for (Difference difference : differences) {
+            ListTestResult result = difference.getResult();
+            String combination = String.format("%s, size [%d], threads %d  -  action: %s", result.getListType(),
+                    result.getListSize(), result.getNumberOfThreads(), result.getWorkload().getName());
+            if (difference.getVerdict() == Verdict.NEW) {
+                newKeys++;
+                System.out.format("%10s  %-70s  |  %,13d ops/s  (added to the baseline)\n", difference.getVerdict(), combination,
+                        difference.getOpsPerSecond());
+                continue;
+            }
+            if (difference.getVerdict() == Verdict.REGRESSED) {
+                regressions++;
+            }
+            System.out.format("%10s  %-70s  |  %,13d -> %,13d ops/s  |  %+7.1f%%%s\n", difference.getVerdict(), combination,
+                    difference.getBaselineOpsPerSecond(), difference.getOpsPerSecond(), difference.getChangePercentage(),
+                    difference.isOtherPlatform() ? "  |  baseline on " + difference.getBaselineJvm() + ", GC " + difference.getBaselineGc() : "");
+        }
+        System.out.format("%d regression(s) of %d compared, %d new\n", regressions, differences.size() - newKeys, newKeys);
+        return regressions;
+    }
+
+    /**
+     * The stored throughput of one key and the JVM and GC it was measured on.
+     */
+    private static final class Baseline {
+        private final long opsPerSecond;
+        private final String jvm;
+        private final String gc;
+
+        private Baseline(long opsPerSecond, String jvm, String gc) {
+            this.opsPerSecond = opsPerSecond;
+            this.jvm = jvm;
+            this.gc = gc;
+        }
+    }
+
+    /**
+     * The throughput of one result against its baseline.
+     */
+    static final class Difference {
+        private final ListTestResult result;
+        private final Baseline baseline;            // null for a new key
+        private final long opsPerSecond;
+        private final Verdict verdict;
+
+        private Difference(ListTestResult result, Baseline baseline, long opsPerSecond, Verdict verdict) {
+            this.result = result;
+            this.baseline = baseline;
+            this.opsPerSecond = opsPerSecond;
+            this.verdict = verdict;
+        }
+
+        ListTestResult getResult() {
+            return result;
+        }
+
+        long getBaselineOpsPerSecond() {
+            return baseline == null ? 0 : baseline.opsPerSecond;
+        }
+
+        String getBaselineJvm() {
+            return baseline == null ? getJvm() : baseline.jvm;
+        }
+
+        String getBaselineGc() {
+            return baseline == null ? GcStats.getCollectorNames() : baseline.gc;
+        }
+
+        /**
+         * @return true - the baseline was measured on another JVM or GC than the current run
+         */
+        boolean isOtherPlatform() {
+            return !getBaselineJvm().equals(getJvm()) || !getBaselineGc().equals(GcStats.getCollectorNames());
+        }
+
+        long getOpsPerSecond() {
+            return opsPerSecond;
+        }
+
+        Verdict getVerdict() {
+            return verdict;
+        }
+
+        double getChangePercentage() {
+            long baselineOpsPerSecond = getBaselineOpsPerSecond();
+            return baselineOpsPerSecond == 0 ? 0 : 100.0 * (opsPerSecond - baselineOpsPerSecond) / baselineOpsPerSecond;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package sv.projects.listperfcomp;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaselineStoreTest {
+
+    @Test
+    void testVerdict() {
+        assertEquals(BaselineStore.Verdict.OK, BaselineStore.getVerdict(1000, 950, 10));
+        assertEquals(BaselineStore.Verdict.OK, BaselineStore.getVerdict(1000, 1100, 10));
+        assertEquals(BaselineStore.Verdict.REGRESSED, BaselineStore.getVerdict(1000, 899, 10));
+        assertEquals(BaselineStore.Verdict.IMPROVED, BaselineStore.getVerdict(1000, 1101, 10));
+        assertEquals(BaselineStore.Verdict.REGRESSED, BaselineStore.getVerdict(1000, 999, 0));
+    }
+
+    @Test
+    void testCompareAndRecord() throws IOException {
+        Path file = Files.createTempFile("listperf-baseline", ".tsv");
+        Files.delete(file);
+        BenchmarkConfig config = newConfig();
+        List<ListTestResult> results = runArrayList(config);
+        BaselineStore store = BaselineStore.load(file);
+        List<BaselineStore.Difference> differences = store.compareAndRecord(results, config, 10, false);
+        assertEquals(BaselineStore.Verdict.NEW, differences.get(0).getVerdict());
+        store.write();
+
+        String key = BaselineStore.getKey(results.get(0), config);
+        assertEquals("PLATFORM_THREADS\tArrayList\t1000\t0:100\t0\tget()\t2", key);
+        assertEquals(key + "\t" + results.get(0).getListOpsPerSecond() + "\t" + BaselineStore.getJvm() + "\t" + GcStats.getCollectorNames(),
+                Files.readAllLines(file, StandardCharsets.UTF_8).get(1));
+        BaselineStore loaded = BaselineStore.load(file);
+        assertEquals(Long.valueOf(results.get(0).getListOpsPerSecond()), loaded.getBaselineOpsPerSecond(key));
+        assertEquals(BaselineStore.Verdict.OK, loaded.compareAndRecord(results, config, 10, false).get(0).getVerdict());
+
+        // a baseline twice as fast - the run regressed, the baseline is kept unless replaced
+        List<String> lines = new ArrayList<>();
+        lines.add(Files.readAllLines(file, StandardCharsets.UTF_8).get(0));
+        lines.add(String.join("\t", key, String.valueOf(2 * results.get(0).getListOpsPerSecond()), BaselineStore.getJvm(),
+                GcStats.getCollectorNames()));
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        BaselineStore faster = BaselineStore.load(file);
+        BaselineStore.Difference difference = faster.compareAndRecord(results, config, 10, false).get(0);
+        assertEquals(BaselineStore.Verdict.REGRESSED, difference.getVerdict());
+        assertEquals(-50.0, difference.getChangePercentage(), 0.1);
+        assertEquals(1, BaselineStore.printReport(Collections.singletonList(difference), file, config, 10));
+        assertEquals(Long.valueOf(2 * results.get(0).getListOpsPerSecond()), faster.getBaselineOpsPerSecond(key));
+        faster.compareAndRecord(results, config, 10, true);
+        assertEquals(Long.valueOf(results.get(0).getListOpsPerSecond()), faster.getBaselineOpsPerSecond(key));
+        Files.delete(file);
+    }
+
+    @Test
+    void testCompareAndRecord_OtherExecutionModelNotCompared() throws IOException {
+        Path file = Files.createTempFile("listperf-baseline", ".tsv");
+        Files.delete(file);
+        BenchmarkConfig config = newConfig();
+        List<ListTestResult> results = runArrayList(config);
+        BaselineStore store = BaselineStore.load(file);
+        store.compareAndRecord(results, config, 10, false);
+        store.write();
+
+        BenchmarkConfig forkJoinConfig = newConfig();
+        forkJoinConfig.setCorrectExecutionModel(ExecutionModel.FORK_JOIN_POOL);
+        List<ListTestResult> forkJoinResults = runArrayList(forkJoinConfig);
+        assertNotEquals(BaselineStore.getKey(results.get(0), config), BaselineStore.getKey(forkJoinResults.get(0), forkJoinConfig));
+        BaselineStore loaded = BaselineStore.load(file);
+        assertEquals(BaselineStore.Verdict.NEW, loaded.compareAndRecord(forkJoinResults, forkJoinConfig, 0, false).get(0).getVerdict());
+        BenchmarkConfig otherValuesConfig = newConfig();
+        otherValuesConfig.setCorrectListIniPars(new int[]{1000, 0, 1000});
+        assertEquals(BaselineStore.Verdict.NEW, loaded.compareAndRecord(results, otherValuesConfig, 0, false).get(0).getVerdict());
+        Files.delete(file);
+    }
+
+    @Test
+    void testCompareAndRecord_OtherJvmCompared() throws IOException {
+        Path file = Files.createTempFile("listperf-baseline", ".tsv");
+        BenchmarkConfig config = newConfig();
+        List<ListTestResult> results = runArrayList(config);
+        String key = BaselineStore.getKey(results.get(0), config);
+        Files.write(file, Collections.singletonList(String.join("\t", key, String.valueOf(2 * results.get(0).getListOpsPerSecond()),
+                "Other Vendor 11.0.2+9", "Serial")), StandardCharsets.UTF_8);
+        BaselineStore store = BaselineStore.load(file);
+        BaselineStore.Difference difference = store.compareAndRecord(results, config, 10, true).get(0);
+        assertEquals(BaselineStore.Verdict.REGRESSED, difference.getVerdict());
+        assertTrue(difference.isOtherPlatform());
+        assertEquals("Other Vendor 11.0.2+9", difference.getBaselineJvm());
+        assertEquals("Serial", difference.getBaselineGc());
+        store.write();
+        assertTrue(Files.readAllLines(file, StandardCharsets.UTF_8).get(1).endsWith("\t" + BaselineStore.getJvm() + "\t" + GcStats.getCollectorNames()));
+        Files.delete(file);
+    }
+
+    @Test
+    void testLoad_IncorrectLine_NEG() throws IOException {
+        Path file = Files.createTempFile("listperf-baseline", ".tsv");
+        Files.write(file, Collections.singletonList("jvm\tgc\tArrayList\t1000\tget()\t2\tfast"), StandardCharsets.UTF_8);
+        assertThrows(IOException.class, () -> BaselineStore.load(file));
+        Files.write(file, Collections.singletonList("ArrayList\t1000"), StandardCharsets.UTF_8);
+        assertThrows(IOException.class, () -> BaselineStore.load(file));
+        Files.delete(file);
+    }
+
+    private static BenchmarkConfig newConfig() {
+        BenchmarkConfig config = new BenchmarkConfig();
+        config.setCorrectListIniPars(new int[]{1000, 0, 100});
+        return config;
+    }
+
+    private static List<ListTestResult> runArrayList(BenchmarkConfig config) {
+        try (BenchmarkSession session = new BenchmarkSession(config)) {
+            List<Integer> list = new ArrayList<>();
+            session.populateList(list);
+            session.setLists(new ArrayList<>(Collections.singletonList(list)));
+            return session.test(PerformanceComparator.Action.ACCESS_MEMBER.toWorkload());
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package sv.projects.listperfcomp;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Non-interactive (batch) mode of the List Performance Comparator (see {@link PerformanceComparator}) for nightly
+ * performance jobs. Runs the full matrix of list types, sizes, thread counts and actions and writes all the results,
+ * including the raw samples of each test cycle, as CSV or JSON (see {@link ResultExporter}).
+ * The matrix runs in its own {@link BenchmarkSession}, independent of the default session of the interactive menu.
+ * <br>
+ * The configuration is given by command-line arguments <code>--key=value</code> and/or by a properties file
+ * <code>--config=file</code> with the same keys (arguments override the file) :
+ * <pre>
+ * lists    comma separated list types, e.g. CopyOnWriteArrayList,SynchronizedRandomAccessList  (see --help)
+ * baseline list type the other lists are ranked relative to, the 1st list type by default
+ * sizes    comma separated list sizes, e.g. 1000,100000
+ * values   range of random values, from (included) : to (excluded), e.g. 0:100
+ * cycles   number of test cycles
+ * warmup   number of warmup cycles run and discarded before the test cycles
+ * converge the test cycles of a list end when the 95% confidence interval is within +/- this percentage of the mean, 0 - off (default)
+ * budget   time budget of a list in ms, its cycles end when they exceed it, 0 - off (default)
+ * progress true (default) - prints the running mean and the ETA after every cycle, false - only the results
+ * threads  comma separated numbers of threads, e.g. 1,2,4
+ * actions  comma separated predefined actions, e.g. ACCESS_MEMBER,ADD_MEMBER  (see --help)
+ * access   comma separated access modes the actions are run with, e.g. ELEMENT,FOR_EACH  (see --help), ELEMENT by default
+ * batch    elements per bulk call of the batched access modes, 64 by default
+ * partitioning  comma separated partitionings of the keys among the threads, e.g. CONTIGUOUS,INTERLEAVED  (see --help),
+ *          CONTIGUOUS by default; the lock contention of the threads is measured when given, the thread contention
+ *          monitoring is then on for the whole run
+ * seed     random seed of the list data for reproducible datasets, 0 - new random data (default)
+ * jfr      directory to write a JFR recording of every action run to, no recording by default
+ * execution  execution model of the threads : PLATFORM_THREADS, VIRTUAL_THREADS or FORK_JOIN_POOL
+ * format   csv or json
+ * output   file to write the results to
+ * store    baseline file (see {@link BaselineStore}) to compare the results with, the results of new keys are added to it
+ * tolerance  a list/action combination regresses when its throughput is more than this percentage below the baseline, 10 by default
+ * store-update  true - the compared baselines are replaced by the results as well, false - only new keys are added (default)
+ * </pre>
+ * Exit codes: 0 - done, 1 - incorrect configuration, 2 - failed to write the results or the baseline,
+ * 3 - a list/action combination regressed against the baseline.
+ */
+
+public class BatchRunner {
+    static final int EXIT_OK = 0;
+    static final int EXIT_INCORRECT_CONFIGURATION = 1;
+    static final int EXIT_OUTPUT_FAILED = 2;
+    static final int EXIT_REGRESSION = 3;
+
+    private BatchRunner() {
+    }
+
+    static int run(String[] args) {
+        Properties config;
+        try {
+            config = parseConfig(args);
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("WARNING - The batch configuration is not correct ! [" + e.getMessage() + "]");
+            printUsage();
+            return EXIT_INCORRECT_CONFIGURATION;
+        }
+        if (config.containsKey("help")) {
+            printUsage();
+            return EXIT_OK;
+        }
+        BaselineStore store = null;
+        double tolerancePercentage;
+        try {
+            tolerancePercentage = toDouble(config.getProperty("tolerance", String.valueOf(BaselineStore.DEFAULT_TOLERANCE_PERCENTAGE)));
+            if (tolerancePercentage < 0 || tolerancePercentage > 100) {
+                throw new IllegalArgumentException("Incorrect tolerance " + config.getProperty("tolerance"));
+            }
+            if (config.containsKey("store")) {
+                store = BaselineStore.load(Paths.get(config.getProperty("store")));
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            System.out.println("WARNING - The batch configuration is not correct ! [" + e.getMessage() + "]");
+            printUsage();
+            return EXIT_INCORRECT_CONFIGURATION;
+        }
+        List<ListTestResult> results;
+        BenchmarkConfig runConfig;
+        boolean monitoringWasEnabled = ContentionStats.isMonitoringEnabled();
+        try (BenchmarkSession session = new BenchmarkSession()) {
+            results = runMatrix(config, session);
+            runConfig = new BenchmarkConfig(session.getConfig());
+        } catch (IllegalArgumentException e) {
+            System.out.println("WARNING - The batch configuration is not correct ! [" + e.getMessage() + "]");
+            printUsage();
+            return EXIT_INCORRECT_CONFIGURATION;
+        } finally {
+            ContentionStats.restoreMonitoring(monitoringWasEnabled);
+        }
+        String format = config.getProperty("format", "csv");
+        String output = config.getProperty("output", "listperf-results." + format);
+        try (Writer writer = Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+            if (format.equals("json")) {
+                ResultExporter.writeJson(results, writer);
+            } else {
+                ResultExporter.writeCsv(results, writer);
+            }
+        } catch (IOException e) {
+            System.out.println("Failed to write the results to " + output + ". " + e);
+            return EXIT_OUTPUT_FAILED;
+        }
+        System.out.println("Results written to " + output);
+        if (store == null) {
+            return EXIT_OK;
+        }
+        List<BaselineStore.Difference> differences = store.compareAndRecord(results, runConfig, tolerancePercentage,
+                Boolean.parseBoolean(config.getProperty("store-update", "false")));
+        int regressions = BaselineStore.printReport(differences, store.getFile(), runConfig, tolerancePercentage);
+        try {
+            store.write();
+        } catch (IOException e) {
+            System.out.println("Failed to write the baseline to " + store.getFile() + ". " + e);
+            return EXIT_OUTPUT_FAILED;
+        }
+        return regressions > 0 ? EXIT_REGRESSION : EXIT_OK;
+    }
+
+    static Properties parseConfig(String[] args) throws IOException {
+        Properties arguments = new Properties();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + arg);
+            }
+            int separator = arg.indexOf('=');
+            arguments.setProperty(separator < 0 ? arg.substring(2) : arg.substring(2, separator), separator < 0 ? "" : arg.substring(separator + 1));
+        }
+        Properties config = new Properties();
+        if (arguments.containsKey("config")) {
+            try (Reader reader = new FileReader(arguments.getProperty("config"))) {
+                config.load(reader);
+            }
+        }
+        config.putAll(arguments);
+        Set<String> knownKeys = new HashSet<>(Arrays.asList("config", "help", "lists", "baseline", "sizes", "values", "cycles", "warmup", "converge", "budget", "progress", "threads", "actions", "seed", "execution", "jfr", "format", "output", "access", "batch", "partitioning", "store", "tolerance", "store-update"));
+        for (String key : config.stringPropertyNames()) {
+            if (!knownKeys.contains(key)) {
+                throw new IllegalArgumentException("Unknown key " + key);
+            }
+        }
+        String format = config.getProperty("format", "csv");
+        if (!format.equals("csv") && !format.equals("json")) {
+            throw new IllegalArgumentException("Unknown format " + format);
+        }
+        return config;
+    }
+
+    private static List<ListTestResult> runMatrix(Properties config, BenchmarkSession session) {
+        List<String> listTypes = getListTypes(config.getProperty("lists", "CopyOnWriteArrayList,SynchronizedRandomAccessList"));
+        int baselineList = listTypes.indexOf(getListTypes(config.getProperty("baseline", listTypes.get(0))).get(0)) + 1;
+        if (baselineList == 0) {
+            throw new IllegalArgumentException("The baseline is not one of the lists " + config.getProperty("baseline"));
+        }
+        int[] sizes = toInts(config.getProperty("sizes", "1000"));
+        String[] values = config.getProperty("values", "0:100").split(":");
+        if (values.length != 2) {
+            throw new IllegalArgumentException("Expected values from:to, actual " + config.getProperty("values"));
+        }
+        int[] threadCounts = toInts(config.getProperty("threads", "2"));
+        List<PerformanceComparator.Action> actions = getActions(config.getProperty("actions", "ACCESS_MEMBER,ADD_MEMBER"));
+        List<Workload.AccessMode> accessModes = getAccessModes(config.getProperty("access", Workload.AccessMode.ELEMENT.name()));
+        List<Workload.Partitioning> partitionings = getPartitionings(config.getProperty("partitioning", Workload.Partitioning.CONTIGUOUS.name()));
+        if (config.containsKey("partitioning")) {
+            if (ContentionStats.enableMonitoring()) {
+                System.out.println("The thread contention monitoring is on for all the results of the run");
+            } else {
+                System.out.println("WARNING - The thread contention monitoring is not supported, the blocked and waited times are not available");
+            }
+        }
+
+        BenchmarkConfig sessionConfig = session.getConfig();
+        ExecutionModel executionModel = getExecutionModel(config.getProperty("execution", "PLATFORM_THREADS"));
+        sessionConfig.setCorrectExecutionModel(executionModel);
+        if (sessionConfig.getExecutionModel() != executionModel) {
+            throw new IllegalArgumentException("Unsupported execution " + executionModel.name());
+        }
+        sessionConfig.setRandomSeed(toLong(config.getProperty("seed", "0")));
+        sessionConfig.setCorrectConvergencePercentage(toDouble(config.getProperty("converge", "0")));
+        if (sessionConfig.getConvergencePercentage() != toDouble(config.getProperty("converge", "0"))) {
+            throw new IllegalArgumentException("Incorrect converge " + config.getProperty("converge"));
+        }
+        sessionConfig.setCorrectListTimeBudgetMs(toLong(config.getProperty("budget", "0")));
+        if (sessionConfig.getListTimeBudgetMs() != toLong(config.getProperty("budget", "0"))) {
+            throw new IllegalArgumentException("Incorrect budget " + config.getProperty("budget"));
+        }
+        sessionConfig.setProgress(Boolean.parseBoolean(config.getProperty("progress", "true")));
+        if (config.containsKey("jfr")) {
+            sessionConfig.setCorrectJfrDirectory(config.getProperty("jfr"));
+            if (!config.getProperty("jfr").equals(sessionConfig.getJfrDirectory())) {
+                throw new IllegalArgumentException("Not a directory " + config.getProperty("jfr"));
+            }
+        }
+        sessionConfig.setCorrectNumberOfTestCycles(toInt(config.getProperty("cycles", "1")));
+        checkApplied(sessionConfig.getNumberOfTestCycles(), toInt(config.getProperty("cycles", "1")), "cycles");
+        sessionConfig.setCorrectNumberOfWarmupCycles(toInt(config.getProperty("warmup", "0")));
+        checkApplied(sessionConfig.getNumberOfWarmupCycles(), toInt(config.getProperty("warmup", "0")), "warmup");
+        sessionConfig.setCorrectBatchSize(toInt(config.getProperty("batch", String.valueOf(Workload.BULK_SIZE))));
+        checkApplied(sessionConfig.getBatchSize(), toInt(config.getProperty("batch", String.valueOf(Workload.BULK_SIZE))), "batch");
+        List<ListTestResult> results = new ArrayList<>();
+        for (int size : sizes) {
+            int[] listIniPars = new int[]{size, toInt(values[0]), toInt(values[1])};
+            sessionConfig.setCorrectListIniPars(listIniPars);
+            if (!Arrays.equals(sessionConfig.getListIniPars(), listIniPars)) {
+                throw new IllegalArgumentException("Incorrect size or values " + Arrays.toString(listIniPars));
+            }
+            List<List<Integer>> lists = new ArrayList<>();
+            for (String listType : listTypes) {
+                List<Integer> list = ListRegistry.getFactory(listType).newList();
+                session.populateList(list);
+                lists.add(list);
+            }
+            for (int threads : threadCounts) {
+                sessionConfig.setCorrectNumberOfThreads(threads);
+                checkApplied(sessionConfig.getNumberOfThreads(), threads, "threads");
+                for (PerformanceComparator.Action action : actions) {
+                    for (Workload.AccessMode accessMode : accessModes) {
+                        sessionConfig.setCorrectAccessMode(accessMode);
+                        for (Workload.Partitioning partitioning : partitionings) {
+                            sessionConfig.setCorrectPartitioning(partitioning);
+                            List<ListTestResult> actionResults = session.getAvgListsPerformanceAndReset(session.getWorkload(action), lists);
+                            for (ListTestResult result : actionResults) {
+                                BenchmarkSession.printTestResults(result);
+                            }
+                            BenchmarkSession.printRanking(actionResults, baselineList);
+                            results.addAll(actionResults);
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private static List<String> getListTypes(String names) {
+        List<String> listTypes = new ArrayList<>();
+        for (String name : names.split(",")) {
+            ListFactory factory = ListRegistry.getFactory(name.trim());
+            if (factory == null) {
+                throw new IllegalArgumentException("Unknown list type " + name);
+            }
+            listTypes.add(factory.getName());
+        }
+        return listTypes;
+    }
+
+    private static List<PerformanceComparator.Action> getActions(String names) {
+        List<PerformanceComparator.Action> actions = new ArrayList<>();
+        for (String name : names.split(",")) {
+            try {
+                actions.add(PerformanceComparator.Action.valueOf(name.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown action " + name);
+            }
+        }
+        return actions;
+    }
+
+    private static List<Workload.AccessMode> getAccessModes(String names) {
+        List<Workload.AccessMode> accessModes = new ArrayList<>();
+        for (String name : names.split(",")) {
+            try {
+                accessModes.add(Workload.AccessMode.valueOf(name.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown access mode " + name);
+            }
+        }
+        return accessModes;
+    }
+
+    private static List<Workload.Partitioning> getPartitionings(String names) {
+        List<Workload.Partitioning> partitionings = new ArrayList<>();
+        for (String name : names.split(",")) {
+            try {
+                partitionings.add(Workload.Partitioning.valueOf(name.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown partitioning " + name);
+            }
+        }
+        return partitionings;
+    }
+
+    private static ExecutionModel getExecutionModel(String name) {
+        try {
+            return ExecutionModel.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown execution " + name);
+        }
+    }
+
+    private static int[] toInts(String values) {
+        return Arrays.stream(values.split(",")).mapToInt(BatchRunner::toInt).toArray();
+    }
+
+    private static int toInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number " + value);
+        }
+    }
+
+    private static long toLong(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number " + value);
+        }
+    }
+
+    private static double toDouble(String value) {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number " + value);
+        }
+    }
+
+    private static void checkApplied(int actual, int expected, String key) {
+        if (actual != expected) {
+            throw new IllegalArgumentException("Incorrect " + key + " " + expected);
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: --lists=<types> --baseline=<type> --sizes=<n,...> --values=<from:to> --cycles=<n> --warmup=<n> --converge=<%> --budget=<ms> --progress=true|false --threads=<n,...> --actions=<actions>"
+                + " --access=<modes> --batch=<n> --partitioning=<partitionings>"
+                + " --seed=<n> --execution=<model> --jfr=<directory> --format=csv|json --output=<file>"
+                + " --store=<baseline file> --tolerance=<%> --store-update=true|false [--config=<properties file>]");
+        System.out.println("  list types : " + String.join(",", ListRegistry.getNames()));
+        StringJoiner actions = new StringJoiner(",");
+        for (PerformanceComparator.Action action : PerformanceComparator.Action.values()) {
+            actions.add(action.name());
+        }
+        System.out.println("  actions    : " + actions);
+        StringJoiner accessModes = new StringJoiner(",");
+        for (Workload.AccessMode accessMode : Workload.AccessMode.values()) {
+            accessModes.add(accessMode.name());
+        }
+        System.out.println("  access     : " + accessModes);
+        StringJoiner partitionings = new StringJoiner(",");
+        for (Workload.Partitioning partitioning : Workload.Partitioning.values()) {
+            partitionings.add(partitioning.name());
+        }
+        System.out.println("  partitioning : " + partitionings);
+        StringJoiner models = new StringJoiner(",");
+        for (ExecutionModel model : ExecutionModel.values()) {
+            models.add(model.name());
+        }
+        System.out.println("  execution  : " + models);
+    }
+}
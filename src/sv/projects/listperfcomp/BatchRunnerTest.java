@@ -0,0 +1,57 @@
+package sv.projects.listperfcomp;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRunnerTest {
+
+    @Test
+    void testParseConfig() throws Exception {
+        Properties config = BatchRunner.parseConfig(new String[]{"--lists=ArrayList,LinkedList", "--cycles=3", "--format=json"});
+        assertEquals("ArrayList,LinkedList", config.getProperty("lists"));
+        assertEquals("3", config.getProperty("cycles"));
+        assertEquals("json", config.getProperty("format"));
+    }
+
+    @Test
+    void testParseConfig_NEG() {
+        assertThrows(IllegalArgumentException.class, () -> BatchRunner.parseConfig(new String[]{"lists=ArrayList"}));
+        assertThrows(IllegalArgumentException.class, () -> BatchRunner.parseConfig(new String[]{"--unknown=1"}));
+        assertThrows(IllegalArgumentException.class, () -> BatchRunner.parseConfig(new String[]{"--format=xml"}));
+    }
+
+    @Test
+    void testRun_IncorrectConfiguration_NEG() {
+        assertEquals(BatchRunner.EXIT_INCORRECT_CONFIGURATION, BatchRunner.run(new String[]{"--lists=NoSuchList"}));
+        assertEquals(BatchRunner.EXIT_INCORRECT_CONFIGURATION, BatchRunner.run(new String[]{"--threads=two"}));
+        assertEquals(BatchRunner.EXIT_INCORRECT_CONFIGURATION, BatchRunner.run(new String[]{"--tolerance=101"}));
+    }
+
+    @Test
+    void testRun_RegressionAgainstBaseline() throws Exception {
+        Path output = Files.createTempFile("listperf-results", ".csv");
+        Path store = Files.createTempFile("listperf-baseline", ".tsv");
+        Files.delete(store);
+        String[] args = new String[]{"--lists=ArrayList", "--sizes=1000", "--actions=ACCESS_MEMBER", "--threads=1",
+                "--progress=false", "--output=" + output, "--store=" + store};
+        assertEquals(BatchRunner.EXIT_OK, BatchRunner.run(args));
+        List<String> lines = Files.readAllLines(store, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        // a baseline far beyond any real throughput
+        String[] baseline = lines.get(1).split("\t");
+        baseline[7] = String.valueOf(Long.MAX_VALUE / 2);           // NOTE, the list_ops_per_s column
+        lines.set(1, String.join("\t", baseline));
+        Files.write(store, lines, StandardCharsets.UTF_8);
+        assertEquals(BatchRunner.EXIT_REGRESSION, BatchRunner.run(args));
+        assertEquals(lines, Files.readAllLines(store, StandardCharsets.UTF_8));
+        Files.delete(output);
+        Files.delete(store);
+    }
+}
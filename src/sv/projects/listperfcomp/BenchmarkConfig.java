@@ -0,0 +1,318 @@
+package sv.projects.listperfcomp;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Parameters of a {@link BenchmarkSession} :
+ * <ul>
+ * <li>the list parameters and the random seed of the list data</li>
+ * <li>the number of warmup and test cycles, their early termination and the printing of the progress</li>
+ * <li>the number of threads and their execution model</li>
+ * <li>the read:write ratio of the mixed action, the access mode, the batch size and the partitioning of the actions</li>
+ * <li>the directory of the JFR recordings</li>
+ * </ul>
+ * <br>
+ * The setters only apply a correct value, otherwise they print a warning and keep the current value.
+ * A session takes a copy of the configuration, so one configuration can be used to create several sessions.
+ */
+
+public class BenchmarkConfig {
+    static final int DEFAULT_READ_PERCENTAGE = 95;
+    int[] listIniPars;       // [listSize, valueFrom, valueTo]
+    int numberOfTestCycles = 1;  // default value
+    int numberOfWarmupCycles = 0;    // default value, cycles run before the test cycles and discarded
+    int numberOfThreads = 2;     // default value
+    int readPercentage = DEFAULT_READ_PERCENTAGE;     // default value, reads in the mixed action, the rest are writes
+    long randomSeed = 0;         // default value, 0 - new random list data every time, otherwise reproducible data
+    ExecutionModel executionModel = ExecutionModel.PLATFORM_THREADS;   // default value
+    double convergencePercentage = 0;    // default value, 0 - off, the test cycles of a list end when the 95% CI is within +/- this % of the mean
+    long listTimeBudgetMs = 0;           // default value, 0 - off, the warmup and the test cycles of a list end when they exceed the budget
+    boolean progress = false;            // default value, prints the progress after every cycle
+    Workload.AccessMode accessMode = Workload.AccessMode.ELEMENT;    // default value, the actions access one element at a time
+    int batchSize = Workload.BULK_SIZE;  // default value, elements per bulk call of the batched access modes
+    Workload.Partitioning partitioning = Workload.Partitioning.CONTIGUOUS;   // default value, how the keys are divided among the threads
+    String jfrDirectory;         // default value null - no JFR recording, otherwise a JFR file per benchmark run is written there
+
+    public BenchmarkConfig() {
+    }
+
+    public BenchmarkConfig(BenchmarkConfig config) {
+        this.listIniPars = config.listIniPars == null ? null : config.listIniPars.clone();
+        this.numberOfTestCycles = config.numberOfTestCycles;
+        this.numberOfWarmupCycles = config.numberOfWarmupCycles;
+        this.numberOfThreads = config.numberOfThreads;
+        this.readPercentage = config.readPercentage;
+        this.randomSeed = config.randomSeed;
+        this.executionModel = config.executionModel;
+        this.jfrDirectory = config.jfrDirectory;
+        this.convergencePercentage = config.convergencePercentage;
+        this.listTimeBudgetMs = config.listTimeBudgetMs;
+        this.progress = config.progress;
+        this.accessMode = config.accessMode;
+        this.batchSize = config.batchSize;
+        this.partitioning = config.partitioning;
+    }
+
+    public int[] getListIniPars() {
+        return listIniPars == null ? null : listIniPars.clone();
+    }
+
+    public int getNumberOfTestCycles() {
+        return numberOfTestCycles;
+    }
+
+    public int getNumberOfWarmupCycles() {
+        return numberOfWarmupCycles;
+    }
+
+    public int getNumberOfThreads() {
+        return numberOfThreads;
+    }
+
+    public int getReadPercentage() {
+        return readPercentage;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public ExecutionModel getExecutionModel() {
+        return executionModel;
+    }
+
+    public String getJfrDirectory() {
+        return jfrDirectory;
+    }
+
+    public double getConvergencePercentage() {
+        return convergencePercentage;
+    }
+
+    public long getListTimeBudgetMs() {
+        return listTimeBudgetMs;
+    }
+
+    public boolean isProgress() {
+        return progress;
+    }
+
+    public Workload.AccessMode getAccessMode() {
+        return accessMode;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public Workload.Partitioning getPartitioning() {
+        return partitioning;
+    }
+
+    public void setCorrectListIniPars(int[] listIniPars) {
+        int[] currentListIniPars = this.listIniPars;
+        this.listIniPars = listIniPars;
+        if (!isIniParsCorrect()) {
+            this.listIniPars = currentListIniPars;
+        }
+    }
+
+    public void setCorrectNumberOfTestCycles(int numberOfTestCycles) {
+        int currentCycles = this.numberOfTestCycles;
+        this.numberOfTestCycles = numberOfTestCycles;
+        if (!isTestCyclesCorrect()) {
+            this.numberOfTestCycles = currentCycles;
+        }
+    }
+
+    public void setCorrectNumberOfWarmupCycles(int numberOfWarmupCycles) {
+        int currentWarmupCycles = this.numberOfWarmupCycles;
+        this.numberOfWarmupCycles = numberOfWarmupCycles;
+        if (!isWarmupCyclesCorrect()) {
+            this.numberOfWarmupCycles = currentWarmupCycles;
+        }
+    }
+
+    public void setCorrectNumberOfThreads(int numberOfThreads) {
+        int currentThreads = this.numberOfThreads;
+        this.numberOfThreads = numberOfThreads;
+        if (!isNumberOfThreadsCorrect()) {
+            this.numberOfThreads = currentThreads;
+        }
+    }
+
+    public void setCorrectReadPercentage(int readPercentage) {
+        int currentReadPercentage = this.readPercentage;
+        this.readPercentage = readPercentage;
+        if (!isReadPercentageCorrect()) {
+            this.readPercentage = currentReadPercentage;
+        }
+    }
+
+    public void setRandomSeed(long randomSeed) {
+        this.randomSeed = randomSeed;
+    }
+
+    public void setCorrectExecutionModel(ExecutionModel executionModel) {
+        if (executionModel == null) {
+            System.out.println("WARNING - The execution model is incorrect: [null], still [" + this.executionModel + "]");
+        } else if (executionModel.isAvailable()) {
+            this.executionModel = executionModel;
+        } else {
+            System.out.println("WARNING - The execution model is not supported by this JVM: [" + executionModel + "], still ["
+                    + this.executionModel + "]");
+        }
+    }
+
+    /**
+     * @param convergencePercentage the test cycles of a list end (after at least 3 cycles) when the half-width of the 95% confidence
+     *                              interval of the throughput is within this percentage of the mean, 0 - all the test cycles run
+     */
+    public void setCorrectConvergencePercentage(double convergencePercentage) {
+        double currentConvergencePercentage = this.convergencePercentage;
+        this.convergencePercentage = convergencePercentage;
+        if (!isConvergencePercentageCorrect()) {
+            this.convergencePercentage = currentConvergencePercentage;
+        }
+    }
+
+    /**
+     * @param listTimeBudgetMs the warmup cycles and the test cycles of a list end when they exceed the budget, even in the middle
+     *                         of a cycle, 0 - no budget
+     */
+    public void setCorrectListTimeBudgetMs(long listTimeBudgetMs) {
+        long currentListTimeBudgetMs = this.listTimeBudgetMs;
+        this.listTimeBudgetMs = listTimeBudgetMs;
+        if (!isListTimeBudgetCorrect()) {
+            this.listTimeBudgetMs = currentListTimeBudgetMs;
+        }
+    }
+
+    /**
+     * @param accessMode the actions access one element at a time, or batches of {@link #getBatchSize()} elements
+     *                   by bulk calls (see {@link Workload.AccessMode})
+     */
+    public void setCorrectAccessMode(Workload.AccessMode accessMode) {
+        if (accessMode != null) {
+            this.accessMode = accessMode;
+        } else {
+            System.out.println("WARNING - The access mode is not set, still [" + this.accessMode + "]");
+        }
+    }
+
+    /**
+     * @param partitioning how the keys of the actions are divided among the threads (see {@link Workload.Partitioning})
+     */
+    public void setCorrectPartitioning(Workload.Partitioning partitioning) {
+        if (partitioning != null) {
+            this.partitioning = partitioning;
+        } else {
+            System.out.println("WARNING - The partitioning is not set, still [" + this.partitioning + "]");
+        }
+    }
+
+    public void setCorrectBatchSize(int batchSize) {
+        int currentBatchSize = this.batchSize;
+        this.batchSize = batchSize;
+        if (!isBatchSizeCorrect()) {
+            this.batchSize = currentBatchSize;
+        }
+    }
+
+    public void setProgress(boolean progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * @param jfrDirectory existing directory to write a JFR recording of every benchmark run to, null - no recording
+     */
+    public void setCorrectJfrDirectory(String jfrDirectory) {
+        if (jfrDirectory == null || Files.isDirectory(Paths.get(jfrDirectory))) {
+            this.jfrDirectory = jfrDirectory;
+        } else {
+            System.out.println("WARNING - The JFR directory does not exist: [" + jfrDirectory + "]");
+        }
+    }
+
+    boolean isIniParsCorrect() {
+        if (listIniPars == null || listIniPars.length != 3 || listIniPars[0] < 1 || listIniPars[1] >= listIniPars[2]) {
+            System.out.println("WARNING - Three list configuration pars are not correct ! Actual: [" + Arrays.toString(listIniPars) + "]");
+            return false;
+        }
+        return true;
+    }
+
+    boolean isTestCyclesCorrect() {
+        if (numberOfTestCycles < 1) {
+            System.out.println("WARNING - The number of test cycles is incorrect: [" + numberOfTestCycles + "]");
+            return false;
+        }
+        return true;
+    }
+
+    boolean isWarmupCyclesCorrect() {
+        if (numberOfWarmupCycles < 0) {
+            System.out.println("WARNING - The number of warmup cycles is incorrect: [" + numberOfWarmupCycles + "]");
+            return false;
+        }
+        return true;
+    }
+
+    boolean isConvergencePercentageCorrect() {
+        if (!(convergencePercentage >= 0 && convergencePercentage <= 100)) {
+            System.out.println("WARNING - The convergence percentage is incorrect: [" + convergencePercentage + "]");
+            return false;
+        }
+        return true;
+    }
+
+    boolean isListTimeBudgetCorrect() {
+        if (listTimeBudgetMs < 0) {
+            System.out.println("WARNING - The time budget of a list is incorrect: [" + listTimeBudgetMs + "]");
+            return false;
+        }
+        return true;
+    }
+
+    boolean isBatchSizeCorrect() {
+        if (batchSize < 1) {
+            System.out.println("WARNING - The batch size is incorrect: [" + batchSize + "]");
+            return false;
+        }
+        return true;
+    }
+
+    boolean isReadPercentageCorrect() {
+        if (readPercentage < 0 || readPercentage > 100) {
+            System.out.println("WARNING - The read percentage is incorrect: [" + readPercentage + "]");
+            return false;
+        }
+        return true;
+    }
+
+    boolean isNumberOfThreadsCorrect() {
+        if (numberOfThreads < 1) {
+            System.out.println("WARNING - The number of threads is incorrect: [" + numberOfThreads + "]");
+            return false;
+        }
+        return true;
+    }
+
+    void printAllPars() {
+        System.out.println("The number of test cycles : [" + numberOfTestCycles + "]");
+        System.out.println("The number of warmup cycles : [" + numberOfWarmupCycles + "]");
+        System.out.println("The number of threads : [" + numberOfThreads + "]");
+        System.out.println("The random seed of the list data : [" + (randomSeed != 0 ? randomSeed : "none") + "]");
+        System.out.println("The execution model : [" + executionModel + "]");
+        System.out.println("The read:write ratio of the mixed action : [" + readPercentage + ":" + (100 - readPercentage) + "]");
+        System.out.println("The early termination of the test cycles : [95% CI within +/- " + (convergencePercentage != 0 ? convergencePercentage + "%" : "off")
+                + ", time budget of a list " + (listTimeBudgetMs != 0 ? listTimeBudgetMs + " ms" : "off") + "]");
+        System.out.println("The access mode of the actions : [" + accessMode + (accessMode != Workload.AccessMode.ELEMENT ? ", batches of " + batchSize : "") + "]");
+        System.out.println("The partitioning of the keys among the threads : [" + partitioning + "]");
+        System.out.println("The JFR recording directory : [" + (jfrDirectory != null ? jfrDirectory : "none") + "]");
+        System.out.print("Parameters of the Lists: ");
+        System.out.println(Arrays.toString(listIniPars));
+    }
+}
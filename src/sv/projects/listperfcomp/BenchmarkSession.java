@@ -0,0 +1,761 @@
+package sv.projects.listperfcomp;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * One comparison of lists : owns the lists under test, its own copy of the {@link BenchmarkConfig},
+ * the data snapshot the lists are populated from and the executor running the test threads.
+ * <br>
+ * Sessions do not share any mutable state, so several sessions can run back to back or concurrently in one JVM,
+ * e.g. when the comparator is embedded as a library. The interactive menu uses the default session
+ * of {@link PerformanceComparator}. A session should be closed to shut its executor down.
+ * <br>
+ * NOTE, the garbage collections and the retained heap are measured JVM-wide, so concurrently running sessions
+ * see each other in the gc and memory results - run them back to back when those results matter.
+ * A session itself is not thread-safe, it is used by one thread at a time.
+ */
+
+public class BenchmarkSession implements AutoCloseable {
+    private final static int MAX_PRINTED_THREADS = 16;      // e.g. thousands of virtual threads are summarized
+    private final static int MIN_CYCLES_TO_CONVERGE = 3;
+    private final static long NO_DEADLINE = Long.MAX_VALUE;
+    private final BenchmarkConfig config;
+    List<List<Integer>> lists = new ArrayList<>();      // lists under test
+    int baselineList = 1;        // default value, number of the list the others are ranked relative to
+    private ListSnapshot listSnapshot;               // the data of all the lists, see getListSnapshot()
+    private int[] snapshotIniPars;
+    private long snapshotSeed;
+    private final Map<String, Long> retainedBytes = new HashMap<>();  // by list class, of the data snapshot, see getRetainedBytes()
+    private ExecutorService executor;                // reused by all the test cycles, see getExecutor()
+    private ExecutionModel executorModel;
+    private int executorThreads;
+
+    public BenchmarkSession() {
+        this(new BenchmarkConfig());
+    }
+
+    public BenchmarkSession(BenchmarkConfig config) {
+        this.config = new BenchmarkConfig(config);
+    }
+
+    /**
+     * @return the configuration of this session, changes apply to the next test
+     */
+    public BenchmarkConfig getConfig() {
+        return config;
+    }
+
+    public List<List<Integer>> getLists() {
+        return lists;
+    }
+
+    public int getBaselineList() {
+        return baselineList;
+    }
+
+    /**
+     * Runs the workload on all the lists of the session.
+     *
+     * @return the result of each list, empty if the session is not correctly configured (a warning is printed)
+     */
+    public List<ListTestResult> test(Workload workload) {
+        if (!isInitialDataValid()) {
+            return Collections.emptyList();
+        }
+        return getAvgListsPerformanceAndReset(workload, lists);
+    }
+
+    void testAndPrint(PerformanceComparator.Action action) {
+        testAndPrint(getWorkload(action));
+    }
+
+    public void testAndPrint(Workload workload) {
+        if (isInitialDataValid()) {
+            testListsPerfAndPrint(workload);
+        }
+    }
+
+    Workload getWorkload(PerformanceComparator.Action action) {
+        return getWorkload(action, config.partitioning);
+    }
+
+    private Workload getWorkload(PerformanceComparator.Action action, Workload.Partitioning partitioning) {
+        return action.toWorkload(config.readPercentage).withBatch(config.accessMode, config.batchSize).withPartitioning(partitioning);
+    }
+
+    private boolean isInitialDataValid() {       // NOTE, the order is important here
+        return areListsSelected() && areListsWithData() && config.isIniParsCorrect() && config.isTestCyclesCorrect()
+                && config.isWarmupCyclesCorrect() && config.isNumberOfThreadsCorrect() && areParsAndListsSynced() && isBaselineListCorrect();
+    }
+
+    private void testListsPerfAndPrint(Workload workload) {
+        System.out.println("Workload " + workload + " : " + workload.getDescription());
+        List<ListTestResult> results = getAvgListsPerformanceAndReset(workload, lists);
+        for (ListTestResult result : results) {
+            printTestResults(result);
+        }
+        printRanking(results, baselineList);
+    }
+
+    /**
+     * Prints the lists ranked by their throughput, relative to the throughput of the baseline list,
+     * and whether the difference to the baseline is statistically significant (see {@link SampleStats}).
+     *
+     * @param baselineList number of the baseline result, from 1
+     */
+    static void printRanking(List<ListTestResult> results, int baselineList) {
+        if (results.size() < 2) {
+            return;
+        }
+        ListTestResult baseline = results.get(baselineList - 1);
+        List<ListTestResult> rankedResults = new ArrayList<>(results);
+        rankedResults.sort(Comparator.comparingLong(ListTestResult::getListOpsPerSecond).reversed());
+        System.out.format("Ranking by throughput relative to the baseline %s (list %d)\n", baseline.getListType(), baselineList);
+        for (int i = 0; i < rankedResults.size(); i++) {
+            ListTestResult result = rankedResults.get(i);
+            System.out.format("%4d. %30s  |  %,13d ops/s  |  %s\n", i + 1, result.getListType(), result.getListOpsPerSecond(),
+                    result == baseline ? "1.00x (baseline)" : String.format("%-16s  |  %s",
+                            getRelativeSpeed(result.getListOpsPerSecond(), baseline.getListOpsPerSecond()),
+                            getSignificance(result.getThroughputStats(), baseline.getThroughputStats())));
+        }
+    }
+
+    static String getRelativeSpeed(long opsPerSecond, long baselineOpsPerSecond) {
+        if (opsPerSecond == 0 || baselineOpsPerSecond == 0) {
+            return "n/a";
+        }
+        double ratio = (double) opsPerSecond / baselineOpsPerSecond;
+        return ratio >= 1 ? String.format("%.2fx faster", ratio) : String.format("%.2fx slower", 1 / ratio);
+    }
+
+    static String getSignificance(SampleStats stats, SampleStats baselineStats) {
+        if (stats.getCount() < 2 || baselineStats.getCount() < 2) {
+            return "significance n/a (2+ test cycles needed)";
+        }
+        return SampleStats.isDifferenceSignificant(stats, baselineStats) ? "significant (95%)" : "not significant - noise";
+    }
+
+    /**
+     * Runs the action on all the lists with 1, 2, 4, ... threads up to the number of available processors
+     * and prints the throughput (in operations per ms) for each thread count.
+     */
+    void testScalabilityAndPrint(PerformanceComparator.Action action) {
+        if (isInitialDataValid()) {
+            Workload workload = getWorkload(action);
+            int[] threadCounts = getSweepThreadCounts(Runtime.getRuntime().availableProcessors());
+            System.out.format("Scalability of action %s, size [%d] - throughput in ops/ms per number of threads\n", workload, config.listIniPars[0]);
+            printScalabilityHeader(threadCounts);
+            long[][] throughput = getThroughputPerThreadCount(workload, threadCounts);
+            for (int i = 0; i < lists.size(); i++) {
+                printScalabilityRow(lists.get(i), threadCounts, throughput[i]);
+            }
+        }
+    }
+
+    /**
+     * Runs the stream reductions on every list sequentially and in parallel on the common pool and on pools
+     * of 1, 2, 4, ... threads up to the number of available processors (see {@link ParallelStreamBenchmark}).
+     */
+    void testParallelStreamsAndPrint() {
+        if (isInitialDataValid()) {
+            int[] parallelisms = ParallelStreamBenchmark.getParallelisms(Runtime.getRuntime().availableProcessors());
+            ParallelStreamBenchmark.printHeader(config.listIniPars[0], parallelisms, config.numberOfTestCycles);
+            for (List<Integer> list : lists) {
+                System.out.format("%30s  spliterator: %s\n", list.getClass().getSimpleName(), ParallelStreamBenchmark.getCharacteristics(list));
+                for (ParallelStreamBenchmark.Reduction reduction : ParallelStreamBenchmark.Reduction.values()) {
+                    ParallelStreamBenchmark.printResult(ParallelStreamBenchmark.run(list, reduction, parallelisms,
+                            config.numberOfWarmupCycles, config.numberOfTestCycles));
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the action with every partitioning of the keys among the threads (see {@link Workload.Partitioning}) and shows
+     * for every list the throughput relative to the contiguous ranges, the throughput skew of the threads and their lock contention
+     * (see {@link ContentionStats}) - a list slowed down by the interleaved partitioning suffers from shared cache lines.
+     */
+    void testContentionAndPrint(PerformanceComparator.Action action) {
+        if (isInitialDataValid()) {
+            boolean monitoringWasEnabled = ContentionStats.isMonitoringEnabled();
+            boolean monitoring = ContentionStats.enableMonitoring();
+            List<List<ListTestResult>> partitioningResults = new ArrayList<>();
+            try {
+                for (Workload.Partitioning partitioning : Workload.Partitioning.values()) {
+                    partitioningResults.add(getAvgListsPerformanceAndReset(getWorkload(action, partitioning), lists));
+                }
+            } finally {
+                // NOTE, the later actions run without the monitoring overhead, as before the diagnostics
+                ContentionStats.restoreMonitoring(monitoringWasEnabled);
+            }
+            System.out.format("\nContention of action %s, size [%d], %d threads  -  blocked and waited times %s\n", action,
+                    config.listIniPars[0], config.numberOfThreads, monitoring ? "by thread contention monitoring" : "not available");
+            System.out.format("%30s  %-12s  |  %19s  |  %-16s  |  %-6s  |  %-21s  |  %s\n", "list", "partitioning", "throughput",
+                    "vs contiguous", "skew", "blocked (count, ms)", "waited (count, ms)");
+            for (int list = 0; list < lists.size(); list++) {
+                long contiguousOpsPerSecond = partitioningResults.get(0).get(list).getListOpsPerSecond();
+                for (List<ListTestResult> results : partitioningResults) {
+                    printContention(results.get(list), contiguousOpsPerSecond);
+                }
+            }
+        }
+    }
+
+    static void printContention(ListTestResult result, long contiguousOpsPerSecond) {
+        ContentionStats contention = result.getContentionStats();
+        System.out.format("%30s  %-12s  |  %,13d ops/s  |  %-16s  |  %5.2fx  |  %s  |  %s\n", result.getListType(),
+                result.getWorkload().getPartitioning(), result.getListOpsPerSecond(),
+                result.getWorkload().getPartitioning() == Workload.Partitioning.CONTIGUOUS ? "" :
+                        getRelativeSpeed(result.getListOpsPerSecond(), contiguousOpsPerSecond),
+                result.getThroughputSkew(), formatContention(contention.getTotal(ContentionStats.BLOCKED_COUNT),
+                        contention.getTotal(ContentionStats.BLOCKED_MS)), formatContention(contention.getTotal(ContentionStats.WAITED_COUNT),
+                        contention.getTotal(ContentionStats.WAITED_MS)));
+    }
+
+    private static String formatContention(long count, long ms) {
+        return String.format("%9s  %7s ms", count == ContentionStats.NOT_AVAILABLE ? "n/a" : String.format("%,d", count),
+                ms == ContentionStats.NOT_AVAILABLE ? "n/a" : String.format("%,d", ms));
+    }
+
+    static int[] getSweepThreadCounts(int maxThreads) {
+        int[] threadCounts = new int[32];
+        int size = 0;
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            threadCounts[size++] = threads;
+        }
+        threadCounts[size++] = Math.max(maxThreads, 1);
+        return Arrays.copyOf(threadCounts, size);
+    }
+
+    // [list][thread count]
+    private long[][] getThroughputPerThreadCount(Workload workload, int[] threadCounts) {
+        int currentThreads = config.numberOfThreads;
+        long[][] throughput = new long[lists.size()][threadCounts.length];
+        try {
+            for (int i = 0; i < threadCounts.length; i++) {
+                config.numberOfThreads = threadCounts[i];
+                List<ListTestResult> results = getAvgListsPerformanceAndReset(workload, lists);
+                for (int list = 0; list < lists.size(); list++) {
+                    throughput[list][i] = results.get(list).getListOpsPerSecond() / 1000;
+                }
+            }
+        } finally {
+            config.numberOfThreads = currentThreads;
+        }
+        return throughput;
+    }
+
+    private static void printScalabilityHeader(int[] threadCounts) {
+        System.out.format("%30s", "threads");
+        for (int threads : threadCounts) {
+            System.out.format("  | %10d", threads);
+        }
+        System.out.println();
+    }
+
+    private static void printScalabilityRow(List<Integer> list, int[] threadCounts, long[] throughput) {
+        System.out.format("%30s", list.getClass().getSimpleName());
+        for (int i = 0; i < threadCounts.length; i++) {
+            System.out.format("  | %10d", throughput[i]);
+        }
+        System.out.println();
+    }
+
+    private boolean areParsAndListsSynced() {
+        StringJoiner listSizes = new StringJoiner(" and ");
+        boolean synced = true;
+        for (List<Integer> list : lists) {
+            listSizes.add(String.valueOf(list.size()));
+            synced &= list.size() == config.listIniPars[0];
+        }
+        if (!synced) {
+            System.out.println("WARNING - The list ini par " + config.listIniPars[0] + " not synced with list sizes : [" + listSizes + "]");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean areListsSelected() {
+        if (lists == null || lists.isEmpty()) {
+            System.out.println("WARNING - No lists to compare are selected !");
+            return false;
+        }
+        return true;
+    }
+
+    private boolean areListsWithData() {
+        for (int i = 0; i < lists.size(); i++) {
+            if (!isListWithData(lists.get(i), getOrdinal(i + 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 1st, 2nd, 3rd, 4th, ... 11th, 12th, 13th, ... 21st, ...
+    static String getOrdinal(int number) {
+        if (number % 100 >= 11 && number % 100 <= 13) {
+            return number + "th";
+        }
+        switch (number % 10) {
+            case 1:
+                return number + "st";
+            case 2:
+                return number + "nd";
+            case 3:
+                return number + "rd";
+            default:
+                return number + "th";
+        }
+    }
+
+    private boolean isBaselineListCorrect() {
+        if (baselineList < 1 || baselineList > lists.size()) {
+            System.out.println("WARNING - The baseline list is incorrect: [" + baselineList + "]");
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isListWithData(List<Integer> list, String listName) {
+        if (list == null || list.isEmpty()) {
+            System.out.println("WARNING - The " + listName + " list to compare has no data ! [" + list + "]");
+            return false;
+        }
+        return true;
+    }
+
+    static void printTestResults(ListTestResult testResult) {
+        System.out.format("%30s, size [%d]  -  action: %s", testResult.getListType(), testResult.getListSize(), testResult.getWorkload());
+        int printedThreads = Math.min(testResult.getNumberOfThreads(), MAX_PRINTED_THREADS);
+        for (int i = 0; i < printedThreads; i++) {
+            System.out.format("  |  thread %d : %10.3f ms", i + 1, testResult.getAvgThreadMs(i));
+        }
+        if (printedThreads < testResult.getNumberOfThreads()) {
+            System.out.format("  |  ... %d more threads", testResult.getNumberOfThreads() - printedThreads);
+        }
+        System.out.println();
+        for (int i = 0; i < printedThreads; i++) {
+            printLatencies("thread " + (i + 1), testResult.getThreadHistogram(i), testResult.getOpsPerSecond(i));
+        }
+        printLatencies("all threads", testResult.getListHistogram(), testResult.getListOpsPerSecond());
+        System.out.format("%30s  collections %d  |  pause time %d ms\n", "gc", testResult.getGcStats().getCount(), testResult.getGcStats().getTimeMs());
+        SampleStats throughputStats = testResult.getThroughputStats();
+        System.out.format("%30s  mean %,13.0f ops/s  |  95%% CI +/- %,.0f ops/s  |  stddev %,.0f ops/s  |  cv %.1f%%  |  cycles %d (%s)  |  outliers %d  |  warmup %d\n",
+                "throughput", throughputStats.getMean(), throughputStats.getConfidenceInterval95(), throughputStats.getStandardDeviation(),
+                throughputStats.getCoefficientOfVariation() * 100, testResult.getNumberOfCycles(), testResult.getCompletion(),
+                throughputStats.getOutliers(), testResult.getWarmupCycles());
+        MemoryStats memoryStats = testResult.getMemoryStats();
+        System.out.format("%30s  retained %,d bytes  |  %.1f bytes/element  |  allocated during test %,d bytes\n", "memory",
+                memoryStats.getRetainedBytes(), memoryStats.getBytesPerElement(), memoryStats.getAllocatedBytes());
+        ContentionStats contention = testResult.getContentionStats();
+        System.out.format("%30s  thread skew %.2fx  |  blocked %s  |  waited %s\n", "contention", testResult.getThroughputSkew(),
+                formatContention(contention.getTotal(ContentionStats.BLOCKED_COUNT), contention.getTotal(ContentionStats.BLOCKED_MS)),
+                formatContention(contention.getTotal(ContentionStats.WAITED_COUNT), contention.getTotal(ContentionStats.WAITED_MS)));
+    }
+
+    private static void printLatencies(String threadName, LatencyHistogram histogram, long opsPerSecond) {
+        System.out.format("%30s  %-11s  |  min %7d  |  p50 %7d  |  p90 %7d  |  p99 %7d  |  p99.9 %7d  |  max %9d  |  %,13d ops/s\n",
+                "latency [ns]", threadName, histogram.getMin(), histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMax(), opsPerSecond);
+    }
+
+    ListTestResult getAvgListPerformanceAndReset(Workload workload, List<Integer> list) {
+        return getAvgListsPerformanceAndReset(workload, Collections.singletonList(list)).get(0);
+    }
+
+    /**
+     * Runs the test cycles of all the lists interleaved - the 1st cycle of every list, then the 2nd cycle of every list, ... -
+     * and each cycle starts with the next list, so JIT and thermal drift do not favour the list that runs first.
+     * The warmup cycles run the same way before the test cycles, their results are discarded.
+     * A JFR recording of the whole run is written when the JFR directory is configured.
+     */
+    List<ListTestResult> getAvgListsPerformanceAndReset(Workload workload, List<List<Integer>> lists) {
+        JfrRecording recording = config.jfrDirectory != null ? JfrRecording.start(config.jfrDirectory, workload) : null;
+        try {
+            return runInterleavedCycles(workload, lists);
+        } finally {
+            if (recording != null) {
+                recording.stopAndWrite();
+            }
+        }
+    }
+
+    private List<ListTestResult> runInterleavedCycles(Workload workload, List<List<Integer>> lists) {
+        List<ListMeasurement> measurements = new ArrayList<>(lists.size());
+        for (List<Integer> list : lists) {
+            measurements.add(new ListMeasurement(list, workload));
+        }
+        Progress progress = new Progress(lists.size() * (config.numberOfWarmupCycles + config.numberOfTestCycles));
+        for (int cycle = 0; cycle < config.numberOfWarmupCycles; cycle++) {
+            for (int i = 0; i < lists.size(); i++) {
+                ListMeasurement measurement = measurements.get((cycle + i) % lists.size());
+                if (!measurement.isWarmupDone()) {
+                    measurement.runWarmupCycle(progress);
+                }
+            }
+        }
+        for (int cycle = 0; cycle < config.numberOfTestCycles; cycle++) {
+            for (int i = 0; i < lists.size(); i++) {
+                ListMeasurement measurement = measurements.get((cycle + i) % lists.size());
+                if (!measurement.isDone()) {
+                    measurement.runCycle(progress);
+                }
+            }
+        }
+        List<ListTestResult> results = new ArrayList<>(lists.size());
+        for (ListMeasurement measurement : measurements) {
+            results.add(measurement.getResultAndReset());
+        }
+        return results;
+    }
+
+    /**
+     * Counts the cycles of a run and prints the progress after every cycle when enabled.
+     */
+    private class Progress {
+        private final long startTime = System.nanoTime();
+        private int plannedCycles;
+        private int doneCycles;
+
+        Progress(int plannedCycles) {
+            this.plannedCycles = plannedCycles;
+        }
+
+        // meanOpsPerSecond - the running mean of the test cycles without the outliers, NaN for a warmup cycle
+        void cycleDone(String listType, int cycle, int cycles, long opsPerSecond, double meanOpsPerSecond) {
+            doneCycles++;
+            if (config.progress) {
+                double elapsedSeconds = (System.nanoTime() - startTime) / 1e9;
+                double etaSeconds = elapsedSeconds / doneCycles * (plannedCycles - doneCycles);
+                System.out.format("%30s  %-6s %4d/%-4d  |  %,13d ops/s  |  %-32s  |  elapsed %,8.1f s  |  ETA %,8.1f s\n",
+                        listType, Double.isNaN(meanOpsPerSecond) ? "warmup" : "cycle", cycle, cycles, opsPerSecond,
+                        Double.isNaN(meanOpsPerSecond) ? "" : String.format("running mean %,13.0f ops/s", meanOpsPerSecond),
+                        elapsedSeconds, etaSeconds);
+            }
+        }
+
+        // the cycles of a list that ended early will not run
+        void cyclesSkipped(int skippedCycles) {
+            plannedCycles -= skippedCycles;
+        }
+    }
+
+    /**
+     * Accumulates the results of the test cycles of one list.
+     * The cycles of the list end early when the confidence interval has converged or the time budget is exceeded.
+     */
+    private class ListMeasurement {
+        private final List<Integer> list;
+        private final Workload workload;
+        private final int numberOfThreads = config.numberOfThreads;
+        private final LatencyHistogram[] histograms = new LatencyHistogram[numberOfThreads];
+        private final long[][] cycleResults = new long[config.numberOfTestCycles][];
+        private final long[][] cycleOperations = new long[config.numberOfTestCycles][];
+        private final double[] cycleOpsPerSecond = new double[config.numberOfTestCycles];
+        private final long[] threadAllocatedBytes = new long[numberOfThreads];
+        private final long[][] threadContention = new long[numberOfThreads][ContentionStats.VALUES];
+        private final int plannedWarmupCycles = config.numberOfWarmupCycles;
+        private GcStats gcStats = GcStats.NONE;
+        private int cyclesRun;
+        private int warmupCycles;
+        private int testCycles;
+        private long warmupNanos;
+        private long testNanos;
+        private ListTestResult.Completion completion;
+
+        ListMeasurement(List<Integer> list, Workload workload) {
+            this.list = list;
+            this.workload = workload;
+            for (int thread = 0; thread < numberOfThreads; thread++) {
+                histograms[thread] = new LatencyHistogram();
+            }
+        }
+
+        boolean isWarmupDone() {
+            return warmupCycles == plannedWarmupCycles || isTimeBudgetExceeded(warmupNanos);
+        }
+
+        boolean isDone() {
+            return completion != null;
+        }
+
+        void runWarmupCycle(Progress progress) {
+            prepareCycle();
+            LatencyHistogram[] warmupHistograms = new LatencyHistogram[numberOfThreads];
+            for (int thread = 0; thread < numberOfThreads; thread++) {
+                warmupHistograms[thread] = new LatencyHistogram();
+            }
+            long[] operations = new long[numberOfThreads];
+            long startTime = System.nanoTime();
+            long[] results = calcTimeToPerformActionOnAllElem(list, workload, warmupHistograms, new long[numberOfThreads],
+                    new long[numberOfThreads][ContentionStats.VALUES], operations, getDeadline(startTime, warmupNanos));
+            warmupNanos += System.nanoTime() - startTime;
+            warmupCycles++;
+            progress.cycleDone(getListType(), warmupCycles, plannedWarmupCycles, getOpsPerSecond(results, operations), Double.NaN);
+            if (isWarmupDone()) {
+                progress.cyclesSkipped(plannedWarmupCycles - warmupCycles);
+            }
+        }
+
+        void runCycle(Progress progress) {
+            prepareCycle();
+            int cycle = testCycles;
+            cycleOperations[cycle] = new long[numberOfThreads];
+            GcStats gcStatsBefore = GcStats.snapshot();
+            long startTime = System.nanoTime();
+            cycleResults[cycle] = calcTimeToPerformActionOnAllElem(list, workload, histograms, threadAllocatedBytes, threadContention,
+                    cycleOperations[cycle], getDeadline(startTime, testNanos));
+            testNanos += System.nanoTime() - startTime;
+            gcStats = gcStats.plus(GcStats.snapshot().since(gcStatsBefore));
+            cycleOpsPerSecond[cycle] = getOpsPerSecond(cycleResults[cycle], cycleOperations[cycle]);
+            testCycles++;
+            SampleStats stats = SampleStats.of(Arrays.copyOf(cycleOpsPerSecond, testCycles));
+            progress.cycleDone(getListType(), testCycles, cycleResults.length, (long) cycleOpsPerSecond[cycle], stats.getMean());
+            if (isTimeBudgetExceeded(testNanos)) {
+                completion = ListTestResult.Completion.TIME_BUDGET;
+            } else if (isConverged(stats)) {
+                completion = ListTestResult.Completion.CONVERGED;
+            } else if (testCycles == cycleResults.length) {
+                completion = ListTestResult.Completion.ALL_CYCLES;
+            }
+            if (isDone()) {
+                progress.cyclesSkipped(cycleResults.length - testCycles);
+            }
+        }
+
+        private void prepareCycle() {
+            if (list.size() != config.listIniPars[0] || (cyclesRun > 0 && workload.isMutating())) {
+                restoreList(list);          // NOTE, every cycle starts from the same data
+            }
+            cyclesRun++;
+        }
+
+        private boolean isConverged(SampleStats stats) {
+            return config.convergencePercentage > 0 && stats.getCount() >= MIN_CYCLES_TO_CONVERGE
+                    && stats.getConfidenceInterval95() <= stats.getMean() * config.convergencePercentage / 100;
+        }
+
+        private String getListType() {
+            return list.getClass().getSimpleName();
+        }
+
+        ListTestResult getResultAndReset() {
+            if (workload.isMutating()) {
+                restoreList(list);
+            }
+            long[] averageResults = new long[numberOfThreads];
+            for (int cycle = 0; cycle < testCycles; cycle++) {
+                for (int thread = 0; thread < numberOfThreads; thread++) {
+                    averageResults[thread] += cycleResults[cycle][thread];
+                }
+            }
+            for (int thread = 0; thread < numberOfThreads; thread++) {
+                averageResults[thread] = averageResults[thread] / Math.max(testCycles, 1);
+            }
+            MemoryStats memoryStats = new MemoryStats(getRetainedBytes(list),
+                    config.listIniPars[0], getTotalAllocatedBytes(threadAllocatedBytes));
+            return new ListTestResult(getListType(), config.listIniPars[0], workload, averageResults,
+                    Arrays.copyOf(cycleResults, testCycles), Arrays.copyOf(cycleOperations, testCycles), histograms, gcStats, memoryStats,
+                    new ContentionStats(threadContention), warmupCycles, completion);
+        }
+    }
+
+    private boolean isTimeBudgetExceeded(long spentNanos) {
+        return config.listTimeBudgetMs > 0 && spentNanos >= config.listTimeBudgetMs * 1_000_000;
+    }
+
+    // the time left of the budget from now on, or NO_DEADLINE
+    private long getDeadline(long now, long spentNanos) {
+        return config.listTimeBudgetMs > 0 ? now + config.listTimeBudgetMs * 1_000_000 - spentNanos : NO_DEADLINE;
+    }
+
+    // operations of all the threads per second, limited by the slowest thread
+    private static long getOpsPerSecond(long[] threadNanos, long[] threadOperations) {
+        long operations = 0;
+        long slowestThreadNanos = 0;
+        for (int thread = 0; thread < threadNanos.length; thread++) {
+            operations += threadOperations[thread];
+            slowestThreadNanos = Math.max(slowestThreadNanos, threadNanos[thread]);
+        }
+        return slowestThreadNanos == 0 ? 0 : (long) (operations * 1_000_000_000.0 / slowestThreadNanos);
+    }
+
+    private static long getTotalAllocatedBytes(long[] threadAllocatedBytes) {
+        long allocatedBytes = 0;
+        for (long threadBytes : threadAllocatedBytes) {
+            if (threadBytes == MemoryStats.NOT_AVAILABLE) {
+                return MemoryStats.NOT_AVAILABLE;
+            }
+            allocatedBytes += threadBytes;
+        }
+        return allocatedBytes;
+    }
+
+    // the bytes allocated by each thread are added to threadAllocatedBytes, NOT_AVAILABLE once unavailable,
+    // the contention values of each thread are added to threadContention (see ContentionStats),
+    // the operations done by each thread are written to threadOperations
+    private long[] calcTimeToPerformActionOnAllElem(List<Integer> list, Workload workload, LatencyHistogram[] histograms,
+                                                    long[] threadAllocatedBytes, long[][] threadContention, long[] threadOperations,
+                                                    long deadline) {
+        int numberOfThreads = config.numberOfThreads;
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = getExecutor();
+        List<Future<Long>> computationResults = new ArrayList<>(numberOfThreads);
+        ListRunner[] runners = new ListRunner[numberOfThreads];
+        for (int thread = 0; thread < numberOfThreads; thread++) {
+            runners[thread] = new ListRunner(list, getRangeLimit(thread), getRangeLimit(thread + 1), latch, workload, histograms[thread],
+                    thread + 1);
+            runners[thread].setNumberOfThreads(numberOfThreads);
+            if (deadline != NO_DEADLINE) {
+                runners[thread].setDeadline(deadline);
+            }
+            computationResults.add(executor.submit(runners[thread]));
+        }
+        latch.countDown();
+        long[] threadsResult = new long[numberOfThreads];
+        try {
+            for (int thread = 0; thread < numberOfThreads; thread++) {
+                threadsResult[thread] = computationResults.get(thread).get();
+                threadOperations[thread] = runners[thread].getOperations();
+                long allocatedBytes = runners[thread].getAllocatedBytes();
+                if (allocatedBytes == MemoryStats.NOT_AVAILABLE || threadAllocatedBytes[thread] == MemoryStats.NOT_AVAILABLE) {
+                    threadAllocatedBytes[thread] = MemoryStats.NOT_AVAILABLE;
+                } else {
+                    threadAllocatedBytes[thread] += allocatedBytes;
+                }
+                ContentionStats.add(threadContention[thread], runners[thread].getContention());
+            }
+        } catch (ExecutionException e) {
+            System.out.println("Failed to retrieve a result from a thread. " + e);
+        } catch (InterruptedException e) {
+            System.out.println("Thread execution was interrupted. " + e);
+        }
+        return threadsResult;
+    }
+
+    // the executor is recreated only when the execution model or the number of threads has changed
+    private ExecutorService getExecutor() {
+        if (executor == null || executorModel != config.executionModel || executorThreads != config.numberOfThreads) {
+            shutdownExecutor();
+            executor = config.executionModel.newExecutor(config.numberOfThreads);
+            executorModel = config.executionModel;
+            executorThreads = config.numberOfThreads;
+        }
+        return executor;
+    }
+
+    void shutdownExecutor() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        shutdownExecutor();
+    }
+
+    // the list is split into numberOfThreads consecutive ranges of (almost) equal size
+    private int getRangeLimit(int thread) {
+        return (int) ((long) config.listIniPars[0] * thread / config.numberOfThreads);
+    }
+
+    /**
+     * Restores every list of the session to the data of the list parameters.
+     */
+    public void resetAllLists() {
+        if (config.isIniParsCorrect()) {
+            for (List<Integer> list : lists) {
+                restoreList(list);
+            }
+        }
+    }
+
+    private void restoreList(List<Integer> list) {
+        list.clear();
+        populateList(list);
+    }
+
+    /**
+     * Adds the data of the list parameters to the list - all the lists of the session get the same data.
+     */
+    public void populateList(List<Integer> list) {
+        getListSnapshot().addTo(list);
+    }
+
+    // the data is generated once and regenerated only when the list parameters or the random seed have changed
+    private ListSnapshot getListSnapshot() {
+        if (listSnapshot == null || !Arrays.equals(snapshotIniPars, config.listIniPars) || snapshotSeed != config.randomSeed) {
+            long seed = config.randomSeed != 0 ? config.randomSeed : ThreadLocalRandom.current().nextLong();
+            int[] listIniPars = config.listIniPars;
+            // random ints from listIniPars[1] included till listIniPars[2] excluded
+            listSnapshot = new ListSnapshot(ListPopulator.generateValues(listIniPars[0], listIniPars[1], listIniPars[2], seed));
+            snapshotIniPars = listIniPars.clone();
+            snapshotSeed = config.randomSeed;
+            retainedBytes.clear();
+        }
+        return listSnapshot;
+    }
+
+    /**
+     * The retained bytes of a list type are measured once per data snapshot - every measurement runs full garbage collections
+     * and populates a new list, so it is not repeated for each workload and each list of the same type.
+     */
+    private long getRetainedBytes(List<Integer> list) {
+        ListSnapshot snapshot = getListSnapshot();
+        String listClass = list.getClass().getName();
+        Long bytes = retainedBytes.get(listClass);
+        if (bytes == null) {
+            bytes = MemoryStats.measureRetainedBytes(list, snapshot::addCopyTo);
+            retainedBytes.put(listClass, bytes);
+        }
+        return bytes;
+    }
+
+    void printAllParsAndLists() {
+        config.printAllPars();
+        if (lists.isEmpty()) {
+            System.out.println("Lists - none");
+        }
+        for (int i = 0; i < lists.size(); i++) {
+            printListTypeAndContent("List " + (i + 1) + (i + 1 == baselineList ? " (baseline)" : ""), lists.get(i));
+        }
+    }
+
+    private static void printListTypeAndContent(String listName, List<Integer> list) {
+        System.out.print(listName + " - ");
+        if (list == null)
+            System.out.println("null");
+        else {
+            System.out.print("["+ list.getClass().getSimpleName() + "] - ");
+            printAllListIntegers(list);
+        }
+    }
+
+    private static void printAllListIntegers(List<Integer> list) {
+        System.out.print("size:" + list.size() + " | ");
+        for (Integer item : list) {
+            System.out.print(item + "|");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Sets the lists under test, the 1st list becomes the baseline.
+     */
+    public void setLists(List<List<Integer>> lists) {
+        this.lists = lists;
+        this.baselineList = 1;
+    }
+
+    public void setCorrectBaselineList(int baselineList) {
+        int currentBaselineList = this.baselineList;
+        this.baselineList = baselineList;
+        if (!isBaselineListCorrect()) {
+            this.baselineList = currentBaselineList;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package sv.projects.listperfcomp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BenchmarkSessionTest {
+
+    @Test
+    void testSessionsHaveOwnConfig() {
+        BenchmarkConfig config = new BenchmarkConfig();
+        config.setCorrectNumberOfThreads(4);
+        try (BenchmarkSession session1 = new BenchmarkSession(config); BenchmarkSession session2 = new BenchmarkSession(config)) {
+            session1.getConfig().setCorrectNumberOfThreads(8);
+            assertEquals(8, session1.getConfig().getNumberOfThreads());
+            assertEquals(4, session2.getConfig().getNumberOfThreads());
+            assertEquals(4, config.getNumberOfThreads());
+            assertNotSame(PerformanceComparator.getDefaultSession().getConfig(), session1.getConfig());
+        }
+    }
+
+    @Test
+    void testSessionsRunConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<ListTestResult>> results1 = executor.submit(() -> runSession(new int[]{1000, 0, 10}, 2, 1L));
+            Future<List<ListTestResult>> results2 = executor.submit(() -> runSession(new int[]{300, 50, 60}, 3, 2L));
+            assertSessionResults(results1.get(), 1000, 2);
+            assertSessionResults(results2.get(), 300, 3);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testBatchedAccess_SameOperationsAsElementAccess() {
+        BenchmarkConfig config = new BenchmarkConfig();
+        config.setCorrectListIniPars(new int[]{1000, 0, 100});
+        config.setCorrectBatchSize(64);
+        try (BenchmarkSession session = new BenchmarkSession(config)) {
+            List<Integer> list1 = new ArrayList<>();
+            List<Integer> list2 = new CopyOnWriteArrayList<>();
+            List<Integer> list3 = Collections.synchronizedList(new ArrayList<>());
+            session.populateList(list1);
+            session.populateList(list2);
+            session.populateList(list3);
+            session.setLists(new ArrayList<>(Arrays.asList(list1, list2, list3)));
+            for (Workload.AccessMode accessMode : Workload.AccessMode.values()) {
+                session.getConfig().setCorrectAccessMode(accessMode);
+                for (ListTestResult result : session.test(session.getWorkload(PerformanceComparator.Action.ACCESS_MEMBER))) {
+                    assertEquals(accessMode, result.getWorkload().getAccessMode());
+                    assertEquals(1000, result.getThreadOperations(0) + result.getThreadOperations(1));
+                    // 500 elements per thread - 7 full batches and one of 52 elements
+                    assertEquals(accessMode == Workload.AccessMode.ELEMENT ? 1000 : 2 * 8, result.getListHistogram().getTotalCount());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testBatchedAccess_BulkWrites() throws Exception {
+        List<Integer> list = new ArrayList<>(Collections.nCopies(100, 1));
+        Workload add = new Workload.Builder("add()").operation(Workload.Operation.ADD, 1).build().withBatch(Workload.AccessMode.FOR_EACH, 64);
+        assertEquals("add() forEach() x64", add.getName());
+        ListRunner runner = new ListRunner(list, 0, 100, new CountDownLatch(0), add, new LatencyHistogram());
+        runner.call();
+        assertEquals(200, list.size());
+        assertEquals(100, runner.getOperations());
+
+        Workload remove = new Workload.Builder("remove(i)").operation(Workload.Operation.REMOVE, 1).batch(Workload.AccessMode.SUB_LIST, 30).build();
+        runner = new ListRunner(list, 0, 100, new CountDownLatch(0), remove, new LatencyHistogram());
+        runner.call();
+        assertEquals(100, list.size());
+    }
+
+    @Test
+    void testBatchedAccess_ShortBatchesCounted() throws Exception {
+        List<Integer> list = new ArrayList<>(Collections.nCopies(100, 1));
+        // every batch starts at the hot index 50 - batches of 64 and 36 elements, the first cut short by the end of the list
+        Workload set = PerformanceComparator.Action.SET_MEMBER.toWorkload().withBatch(Workload.AccessMode.SUB_LIST, 64)
+                .withPartitioning(Workload.Partitioning.HOT_INDEX);
+        ListRunner runner = new ListRunner(list, 0, 100, new CountDownLatch(0), set, new LatencyHistogram());
+        runner.call();
+        assertEquals(50 + 36, runner.getOperations());
+    }
+
+    @Test
+    void testPartitioning_InterleavedKeys() throws Exception {
+        List<Integer> list = new ArrayList<>(Collections.nCopies(10, -1));
+        Workload set = PerformanceComparator.Action.SET_MEMBER.toWorkload().withPartitioning(Workload.Partitioning.INTERLEAVED);
+        ListRunner runner = new ListRunner(list, 0, 5, new CountDownLatch(0), set, new LatencyHistogram(), 1);
+        runner.setNumberOfThreads(2);
+        runner.call();
+        assertEquals(ContentionStats.VALUES, runner.getContention().length);
+        // thread 1 of 2 sets the even indices
+        assertEquals(Arrays.asList(0, -1, 2, -1, 4, -1, 6, -1, 8, -1), list);
+        Workload hot = PerformanceComparator.Action.SET_MEMBER.toWorkload().withPartitioning(Workload.Partitioning.HOT_INDEX);
+        List<Integer> hotList = new ArrayList<>(Collections.nCopies(10, -1));
+        new ListRunner(hotList, 0, 10, new CountDownLatch(0), hot, new LatencyHistogram()).call();
+        assertEquals(9, Collections.frequency(hotList, -1));
+        assertEquals(5, hotList.get(5).intValue());
+    }
+
+    @Test
+    void testPartitioning_ContentionStats() {
+        boolean monitoringWasEnabled = ContentionStats.isMonitoringEnabled();
+        ContentionStats.enableMonitoring();
+        BenchmarkConfig config = new BenchmarkConfig();
+        config.setCorrectListIniPars(new int[]{1000, 0, 100});
+        try (BenchmarkSession session = new BenchmarkSession(config)) {
+            List<Integer> list = Collections.synchronizedList(new ArrayList<>());
+            session.populateList(list);
+            session.setLists(new ArrayList<>(Collections.singletonList(list)));
+            for (Workload.Partitioning partitioning : Workload.Partitioning.values()) {
+                session.getConfig().setCorrectPartitioning(partitioning);
+                ListTestResult result = session.test(session.getWorkload(PerformanceComparator.Action.ACCESS_MEMBER)).get(0);
+                assertEquals(partitioning, result.getWorkload().getPartitioning());
+                assertEquals(1000, result.getThreadOperations(0) + result.getThreadOperations(1));
+                assertTrue(result.getThroughputSkew() >= 1);
+                assertEquals(2, result.getContentionStats().getNumberOfThreads());
+                assertTrue(result.getContentionStats().getTotal(ContentionStats.BLOCKED_COUNT) >= 0);
+            }
+            // the diagnostics leave the monitoring as they found it
+            ContentionStats.restoreMonitoring(false);
+            session.testContentionAndPrint(PerformanceComparator.Action.ACCESS_MEMBER);
+            assertFalse(ContentionStats.isMonitoringEnabled());
+        } finally {
+            ContentionStats.restoreMonitoring(monitoringWasEnabled);
+        }
+    }
+
+    @Test
+    void testInvalidSession_NoResults() {
+        try (BenchmarkSession session = new BenchmarkSession()) {
+            assertTrue(session.test(PerformanceComparator.Action.ACCESS_MEMBER.toWorkload()).isEmpty());
+        }
+    }
+
+    @Test
+    void testTimeBudget_CycleCutShort() {
+        BenchmarkConfig config = new BenchmarkConfig();
+        config.setCorrectListIniPars(new int[]{20000, 0, 100});
+        config.setCorrectNumberOfTestCycles(5);
+        config.setCorrectListTimeBudgetMs(1);
+        try (BenchmarkSession session = new BenchmarkSession(config)) {
+            List<Integer> list = new LinkedList<>();        // NOTE, get() is O(n), a cycle takes much longer than the budget
+            session.populateList(list);
+            session.setLists(new ArrayList<>(Collections.singletonList(list)));
+            ListTestResult result = session.test(PerformanceComparator.Action.ACCESS_MEMBER.toWorkload()).get(0);
+            assertEquals(ListTestResult.Completion.TIME_BUDGET, result.getCompletion());
+            assertEquals(1, result.getNumberOfCycles());
+            assertTrue(result.getCycleThreadOperations(0, 0) < 10000);
+            assertEquals(result.getCycleThreadOperations(0, 0) + result.getCycleThreadOperations(0, 1),
+                    result.getListHistogram().getTotalCount());
+            assertEquals(20000, list.size());
+        }
+    }
+
+    @Test
+    void testConvergence_CyclesEndEarly() {
+        BenchmarkConfig config = new BenchmarkConfig();
+        config.setCorrectListIniPars(new int[]{10000, 0, 100});
+        config.setCorrectNumberOfTestCycles(50);
+        config.setCorrectConvergencePercentage(100);
+        try (BenchmarkSession session = new BenchmarkSession(config)) {
+            List<Integer> list = new ArrayList<>();
+            session.populateList(list);
+            session.setLists(new ArrayList<>(Collections.singletonList(list)));
+            ListTestResult result = session.test(PerformanceComparator.Action.ACCESS_MEMBER.toWorkload()).get(0);
+            assertEquals(ListTestResult.Completion.CONVERGED, result.getCompletion());
+            assertTrue(result.getNumberOfCycles() >= 3 && result.getNumberOfCycles() < 50);
+            SampleStats stats = result.getThroughputStats();
+            assertTrue(stats.getConfidenceInterval95() <= stats.getMean());
+        }
+    }
+
+    @Test
+    void testRetainedBytes_MeasuredOncePerListTypeAndData() {
+        BenchmarkConfig config = new BenchmarkConfig();
+        config.setCorrectListIniPars(new int[]{1000, 0, 100});
+        config.setRandomSeed(1L);
+        try (BenchmarkSession session = new BenchmarkSession(config)) {
+            List<Integer> list1 = new ArrayList<>();
+            List<Integer> list2 = new ArrayList<>();
+            session.populateList(list1);
+            session.populateList(list2);
+            session.setLists(new ArrayList<>(Arrays.asList(list1, list2)));
+            List<ListTestResult> results = session.test(PerformanceComparator.Action.ACCESS_MEMBER.toWorkload());
+            long retainedBytes = results.get(0).getMemoryStats().getRetainedBytes();
+            assertEquals(retainedBytes, results.get(1).getMemoryStats().getRetainedBytes());
+            assertEquals(retainedBytes, session.test(PerformanceComparator.Action.ADD_MEMBER.toWorkload()).get(0)
+                    .getMemoryStats().getRetainedBytes());
+
+            session.getConfig().setCorrectListIniPars(new int[]{100000, 0, 100});
+            List<Integer> list3 = new ArrayList<>();
+            session.populateList(list3);
+            session.setLists(new ArrayList<>(Collections.singletonList(list3)));
+            assertTrue(session.test(PerformanceComparator.Action.ACCESS_MEMBER.toWorkload()).get(0)
+                    .getMemoryStats().getRetainedBytes() > retainedBytes);
+        }
+    }
+
+    @Test
+    void testSetEarlyTermination_NEG() {
+        BenchmarkConfig config = new BenchmarkConfig();
+        config.setCorrectConvergencePercentage(5);
+        config.setCorrectConvergencePercentage(-1);
+        config.setCorrectListTimeBudgetMs(1000);
+        config.setCorrectListTimeBudgetMs(-1);
+        assertEquals(5.0, config.getConvergencePercentage(), 1e-9);
+        assertEquals(1000, config.getListTimeBudgetMs());
+    }
+
+    private static List<ListTestResult> runSession(int[] listIniPars, int threads, long seed) {
+        BenchmarkConfig config = new BenchmarkConfig();
+        config.setCorrectListIniPars(listIniPars);
+        config.setCorrectNumberOfThreads(threads);
+        config.setCorrectNumberOfTestCycles(3);
+        config.setRandomSeed(seed);
+        try (BenchmarkSession session = new BenchmarkSession(config)) {
+            List<Integer> list1 = new CopyOnWriteArrayList<>();
+            List<Integer> list2 = new ArrayList<>();
+            session.populateList(list1);
+            session.populateList(list2);
+            session.setLists(new ArrayList<>(Arrays.asList(list1, list2)));
+            List<ListTestResult> results = session.test(PerformanceComparator.Action.ACCESS_MEMBER.toWorkload());
+            for (Integer value : list1) {
+                assertTrue(value >= listIniPars[1] && value < listIniPars[2]);
+            }
+            assertEquals(list1, list2);
+            return results;
+        }
+    }
+
+    private static void assertSessionResults(List<ListTestResult> results, int listSize, int threads) {
+        assertEquals(2, results.size());
+        for (ListTestResult result : results) {
+            assertEquals(listSize, result.getListSize());
+            assertEquals(threads, result.getNumberOfThreads());
+            assertEquals(3, result.getNumberOfCycles());
+            assertEquals(3L * listSize, result.getListHistogram().getTotalCount());
+        }
+    }
+}
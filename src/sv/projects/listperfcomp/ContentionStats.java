@@ -0,0 +1,140 @@
+package sv.projects.listperfcomp;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Lock contention of the threads of a list under test during all the test cycles, taken from <code>ThreadMXBean</code> :
+ * <ul>
+ * <li>blocked - the number of times and the time a thread waited to enter a contended monitor (<code>synchronized</code>)</li>
+ * <li>waited - the number of times and the time a thread waited or was parked, e.g. on a <code>ReentrantLock</code>
+ * or a <code>StampedLock</code></li>
+ * </ul>
+ * The times are in ms and available only while the thread contention monitoring is enabled (see {@link #enableMonitoring()}),
+ * otherwise, and for virtual threads, the values are {@link #NOT_AVAILABLE}.
+ */
+
+public class ContentionStats {
+    static final long NOT_AVAILABLE = -1;
+    static final int BLOCKED_COUNT = 0;
+    static final int BLOCKED_MS = 1;
+    static final int WAITED_COUNT = 2;
+    static final int WAITED_MS = 3;
+    static final int VALUES = 4;
+
+    private final long[][] threadValues;      // [thread][BLOCKED_COUNT .. WAITED_MS]
+
+    ContentionStats(long[][] threadValues) {
+        this.threadValues = threadValues;
+    }
+
+    public int getNumberOfThreads() {
+        return threadValues.length;
+    }
+
+    public long getBlockedCount(int thread) {
+        return threadValues[thread][BLOCKED_COUNT];
+    }
+
+    public long getBlockedMs(int thread) {
+        return threadValues[thread][BLOCKED_MS];
+    }
+
+    public long getWaitedCount(int thread) {
+        return threadValues[thread][WAITED_COUNT];
+    }
+
+    public long getWaitedMs(int thread) {
+        return threadValues[thread][WAITED_MS];
+    }
+
+    /**
+     * @return the value summed over all the threads, {@link #NOT_AVAILABLE} if it is not available for a thread
+     */
+    long getTotal(int value) {
+        long total = 0;
+        for (long[] values : threadValues) {
+            if (values[value] == NOT_AVAILABLE) {
+                return NOT_AVAILABLE;
+            }
+            total += values[value];
+        }
+        return total;
+    }
+
+    /**
+     * Enables the thread contention monitoring of the JVM, which adds a small overhead to every contended lock.
+     * The monitoring is JVM-wide, so the previous state (see {@link #isMonitoringEnabled()}) should be restored
+     * by {@link #restoreMonitoring(boolean)} once the contention is measured.
+     *
+     * @return true if the blocked and waited times are measured
+     */
+    static boolean enableMonitoring() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!threadBean.isThreadContentionMonitoringSupported()) {
+            return false;
+        }
+        threadBean.setThreadContentionMonitoringEnabled(true);
+        return true;
+    }
+
+    static boolean isMonitoringEnabled() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        return threadBean.isThreadContentionMonitoringSupported() && threadBean.isThreadContentionMonitoringEnabled();
+    }
+
+    /**
+     * @param enabled the state of the thread contention monitoring before {@link #enableMonitoring()}
+     */
+    static void restoreMonitoring(boolean enabled) {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean.isThreadContentionMonitoringSupported()) {
+            threadBean.setThreadContentionMonitoringEnabled(enabled);
+        }
+    }
+
+    /**
+     * @return the contention values of the current thread so far, all {@link #NOT_AVAILABLE} if the thread is not known
+     * to <code>ThreadMXBean</code> (a virtual thread)
+     */
+    static long[] sampleCurrentThread() {
+        long[] values = new long[VALUES];
+        ThreadInfo info = ManagementFactory.getThreadMXBean().getThreadInfo(Thread.currentThread().getId());
+        if (info == null) {
+            Arrays.fill(values, NOT_AVAILABLE);
+            return values;
+        }
+        values[BLOCKED_COUNT] = info.getBlockedCount();
+        values[BLOCKED_MS] = Math.max(info.getBlockedTime(), NOT_AVAILABLE);
+        values[WAITED_COUNT] = info.getWaitedCount();
+        values[WAITED_MS] = Math.max(info.getWaitedTime(), NOT_AVAILABLE);
+        return values;
+    }
+
+    /**
+     * @return the difference of two samples, {@link #NOT_AVAILABLE} where a sample is not available
+     */
+    static long[] since(long[] after, long[] before) {
+        long[] difference = new long[VALUES];
+        for (int value = 0; value < VALUES; value++) {
+            boolean available = before[value] != NOT_AVAILABLE && after[value] != NOT_AVAILABLE;
+            difference[value] = available ? after[value] - before[value] : NOT_AVAILABLE;
+        }
+        return difference;
+    }
+
+    /**
+     * Adds the values to the accumulated values, a value stays {@link #NOT_AVAILABLE} once it is not available.
+     */
+    static void add(long[] accumulated, long[] values) {
+        for (int value = 0; value < VALUES; value++) {
+            if (accumulated[value] == NOT_AVAILABLE || values[value] == NOT_AVAILABLE) {
+                accumulated[value] = NOT_AVAILABLE;
+            } else {
+                accumulated[value] += values[value];
+            }
+        }
+    }
+}
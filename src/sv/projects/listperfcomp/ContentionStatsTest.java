@@ -0,0 +1,43 @@
+package sv.projects.listperfcomp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentionStatsTest {
+
+    @Test
+    void testSinceAndTotal() {
+        long na = ContentionStats.NOT_AVAILABLE;
+        long[] thread1 = ContentionStats.since(new long[]{5, 30, 2, 10}, new long[]{1, 10, 2, 4});
+        assertArrayEquals(new long[]{4, 20, 0, 6}, thread1);
+        long[] thread2 = new long[ContentionStats.VALUES];
+        ContentionStats.add(thread2, new long[]{3, 5, 1, na});
+        ContentionStats.add(thread2, new long[]{1, 5, 1, 7});
+        assertArrayEquals(new long[]{4, 10, 2, na}, thread2);
+        ContentionStats stats = new ContentionStats(new long[][]{thread1, thread2});
+        assertEquals(2, stats.getNumberOfThreads());
+        assertEquals(8, stats.getTotal(ContentionStats.BLOCKED_COUNT));
+        assertEquals(30, stats.getTotal(ContentionStats.BLOCKED_MS));
+        assertEquals(na, stats.getTotal(ContentionStats.WAITED_MS));
+        assertEquals(6, stats.getWaitedMs(0));
+    }
+
+    @Test
+    void testSampleCurrentThread_Monitored() throws Exception {
+        boolean monitoringWasEnabled = ContentionStats.isMonitoringEnabled();
+        if (!ContentionStats.enableMonitoring()) {
+            return;
+        }
+        try {
+            long[] before = ContentionStats.sampleCurrentThread();
+            Thread.sleep(20);
+            long[] waited = ContentionStats.since(ContentionStats.sampleCurrentThread(), before);
+            assertTrue(waited[ContentionStats.WAITED_COUNT] >= 1);
+            assertTrue(waited[ContentionStats.WAITED_MS] >= 0);
+        } finally {
+            ContentionStats.restoreMonitoring(monitoringWasEnabled);
+        }
+        assertEquals(monitoringWasEnabled, ContentionStats.isMonitoringEnabled());
+    }
+}
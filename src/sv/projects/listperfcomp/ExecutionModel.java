@@ -0,0 +1,99 @@
+package sv.projects.listperfcomp;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The kind of threads running the {@link ListRunner} tasks of a test (see {@link PerformanceComparator}).
+ * <br>
+ * The executor is created once and reused by all the test cycles, so thread creation and pool startup
+ * are not measured. The worker threads are daemon threads, so a not shut down executor never blocks the exit.
+ * <br>
+ * NOTE, virtual threads are available only on Java 21+. The executor is created reflectively,
+ * so the Comparator still builds and runs on Java 11. On Java 19 and 20 the executor factory exists, but it fails
+ * unless the preview features are enabled, so the availability is probed by creating an executor once.
+ */
+
+public enum ExecutionModel {
+    PLATFORM_THREADS("platform threads"),
+    VIRTUAL_THREADS("virtual threads"),
+    FORK_JOIN_POOL("fork-join pool");
+
+    private String name;
+
+    ExecutionModel(String modelName) {
+        this.name = modelName;
+    }
+
+    boolean isAvailable() {
+        return this != VIRTUAL_THREADS || VirtualThreads.AVAILABLE;
+    }
+
+    /**
+     * @param numberOfThreads number of concurrent tasks of a test cycle, ignored by virtual threads (one thread per task)
+     */
+    ExecutorService newExecutor(int numberOfThreads) {
+        switch (this) {
+            case VIRTUAL_THREADS:
+                try {
+                    return (ExecutorService) getVirtualThreadExecutorFactory().invoke(null);
+                } catch (ReflectiveOperationException | NullPointerException e) {
+                    throw new IllegalStateException("Virtual threads are not supported by this JVM", e);
+                }
+            case FORK_JOIN_POOL:
+                return new ForkJoinPool(numberOfThreads, pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setDaemon(true);
+                    return thread;
+                }, null, false);
+            default:
+                return Executors.newFixedThreadPool(numberOfThreads, new DaemonThreadFactory());
+        }
+    }
+
+    private static Method getVirtualThreadExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+    private static final class VirtualThreads {
+        static final boolean AVAILABLE = probe();       // NOTE, probed on the first use only
+
+        private static boolean probe() {
+            Method factory = getVirtualThreadExecutorFactory();
+            if (factory == null) {
+                return false;
+            }
+            try {
+                ((ExecutorService) factory.invoke(null)).shutdown();
+                return true;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return false;       // NOTE, the preview features are not enabled on Java 19 and 20
+            }
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "list-runner-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package sv.projects.listperfcomp;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.StringJoiner;
+
+/**
+ * A snapshot of the number of garbage collections and the accumulated collection time of all the collectors
+ * of the JVM. The difference of two snapshots (see {@link #since(GcStats)}) shows the GC activity during a test run.
+ */
+
+public class GcStats {
+    static final GcStats NONE = new GcStats(0, 0);
+
+    private final long count;
+    private final long timeMs;
+
+    private GcStats(long count, long timeMs) {
+        this.count = count;
+        this.timeMs = timeMs;
+    }
+
+    public static GcStats snapshot() {
+        long count = 0;
+        long timeMs = 0;
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            // NOTE, -1 is returned if the value is not available for the collector
+            count += Math.max(gcBean.getCollectionCount(), 0);
+            timeMs += Math.max(gcBean.getCollectionTime(), 0);
+        }
+        return new GcStats(count, timeMs);
+    }
+
+    /**
+     * @return the names of the collectors of the JVM, e.g. <code>G1 Young Generation+G1 Old Generation</code>
+     */
+    public static String getCollectorNames() {
+        StringJoiner names = new StringJoiner("+");
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            names.add(gcBean.getName());
+        }
+        return names.toString();
+    }
+
+    public GcStats since(GcStats earlier) {
+        return new GcStats(count - earlier.count, timeMs - earlier.timeMs);
+    }
+
+    public GcStats plus(GcStats other) {
+        return new GcStats(count + other.count, timeMs + other.timeMs);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTimeMs() {
+        return timeMs;
+    }
+}
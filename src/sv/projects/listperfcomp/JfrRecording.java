@@ -0,0 +1,72 @@
+package sv.projects.listperfcomp;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * A JFR recording of one benchmark run - one workload on all the lists under test - written to its own file.
+ * <br>
+ * Based on the JDK <code>default</code> settings, with every contended monitor enter, monitor wait and thread park recorded
+ * together with its stack trace, so the contention can be attributed to the lists via the {@link ListRunEvent}s.
+ * NOTE, recording every contended lock adds overhead - compare the timing of recorded runs only with each other.
+ */
+
+final class JfrRecording {
+    private static final Duration LOCK_EVENT_THRESHOLD = Duration.ZERO;
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private final Recording recording;
+    private final Path file;
+
+    private JfrRecording(Recording recording, Path file) {
+        this.recording = recording;
+        this.file = file;
+    }
+
+    /**
+     * @return the started recording, null if it could not be started (a warning is printed)
+     */
+    static JfrRecording start(String directory, Workload workload) {
+        Path file = Paths.get(directory, "listperf-" + LocalDateTime.now().format(FILE_TIME_FORMAT) + "-"
+                + workload.getName().replaceAll("[^A-Za-z0-9]+", "-").replaceAll("^-|-$", "") + ".jfr");
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName(file.getFileName().toString());
+            recording.enable(ListRunEvent.class);
+            recording.enable("jdk.JavaMonitorEnter").withThreshold(LOCK_EVENT_THRESHOLD).withStackTrace();
+            recording.enable("jdk.JavaMonitorWait").withThreshold(LOCK_EVENT_THRESHOLD).withStackTrace();
+            recording.enable("jdk.ThreadPark").withThreshold(LOCK_EVENT_THRESHOLD).withStackTrace();
+            recording.start();
+            return new JfrRecording(recording, file);
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.out.println("WARNING - The JFR recording could not be started ! [" + e + "]");
+            return null;
+        }
+    }
+
+    /**
+     * Stops the recording and writes it to its file.
+     */
+    void stopAndWrite() {
+        try {
+            recording.stop();
+            recording.dump(file);
+            System.out.println("JFR recording written to " + file);
+        } catch (IOException | IllegalStateException e) {
+            System.out.println("Failed to write the JFR recording to " + file + ". " + e);
+        } finally {
+            recording.close();
+        }
+    }
+
+    Path getFile() {
+        return file;
+    }
+}
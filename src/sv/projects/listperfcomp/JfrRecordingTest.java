@@ -0,0 +1,67 @@
+package sv.projects.listperfcomp;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecordingTest {
+
+    @Test
+    void testRecordingPerRun_WithListRunEvents() throws IOException {
+        Path directory = Files.createTempDirectory("listperf-jfr");
+        BenchmarkConfig config = new BenchmarkConfig();
+        config.setCorrectListIniPars(new int[]{1000, 0, 100});
+        config.setCorrectNumberOfTestCycles(2);
+        config.setCorrectJfrDirectory(directory.toString());
+        try (BenchmarkSession session = new BenchmarkSession(config)) {
+            List<Integer> list = new ArrayList<>();
+            session.populateList(list);
+            session.setLists(new ArrayList<>(Collections.singletonList(list)));
+            session.test(PerformanceComparator.Action.ACCESS_MEMBER.toWorkload());
+        }
+        File[] files = directory.toFile().listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length);
+        List<RecordedEvent> listRuns = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(files[0].toPath())) {
+            if (event.getEventType().getName().equals(ListRunEvent.NAME)) {
+                listRuns.add(event);
+            }
+        }
+        // 2 cycles of 2 threads
+        assertEquals(4, listRuns.size());
+        for (RecordedEvent event : listRuns) {
+            assertEquals("ArrayList", event.getString("listType"));
+            assertEquals("get()", event.getString("action"));
+            int threadIndex = event.getInt("threadIndex");
+            assertTrue(threadIndex == 1 || threadIndex == 2);
+            assertEquals(threadIndex == 1 ? 0 : 500, event.getInt("rangeStart"));
+            assertEquals(500L, event.getLong("operations"));
+        }
+        for (File file : files) {
+            Files.delete(file.toPath());
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    void testSetJfrDirectory_NEG() {
+        BenchmarkConfig config = new BenchmarkConfig();
+        config.setCorrectJfrDirectory("no-such-directory-" + System.nanoTime());
+        assertNull(config.getJfrDirectory());
+        config.setCorrectJfrDirectory(".");
+        assertEquals(".", config.getJfrDirectory());
+        config.setCorrectJfrDirectory(null);
+        assertNull(config.getJfrDirectory());
+    }
+}
@@ -0,0 +1,107 @@
+package sv.projects.listperfcomp;
+
+import java.util.Arrays;
+
+/**
+ * A low-overhead latency histogram with fixed log-linear buckets (in the style of HdrHistogram)
+ * used by {@link ListRunner} to record the latency of each operation in <code>ns</code>.
+ * <br>
+ * Values below 64 are counted exactly, larger values are counted in 32 sub-buckets per power of two,
+ * so a reported percentile is never more than ~3% above the recorded value.
+ * Recording does not allocate. An instance is not thread-safe, each thread records into its own histogram
+ * and the histograms are merged with {@link #add(LatencyHistogram)} afterwards.
+ */
+
+public class LatencyHistogram {
+    private static final int EXACT_VALUES = 64;
+    private static final int SUB_BUCKETS = 32;
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int MIN_MAGNITUDE = 6;     // 2^6 == EXACT_VALUES
+    private static final int NUMBER_OF_BUCKETS = EXACT_VALUES + (63 - MIN_MAGNITUDE) * SUB_BUCKETS;
+
+    private final long[] counts = new long[NUMBER_OF_BUCKETS];
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[getBucketIndex(value)]++;
+        totalCount++;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        totalCount = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * @param percentile from 0 to 100, e.g. 99.9
+     * @return the highest value of the bucket holding the given percentile, limited by the recorded maximum
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        // NOTE, the epsilon protects e.g. 99.9% of 1000 from being rounded up to 1000 by the floating point error
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount - 1e-9));
+        long count = 0;
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            count += counts[i];
+            if (count >= countAtPercentile) {
+                return Math.min(getHighestValueOfBucket(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < EXACT_VALUES) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return EXACT_VALUES + (magnitude - MIN_MAGNITUDE) * SUB_BUCKETS + subBucket;
+    }
+
+    static long getHighestValueOfBucket(int index) {
+        if (index < EXACT_VALUES) {
+            return index;
+        }
+        int magnitude = (index - EXACT_VALUES) / SUB_BUCKETS + MIN_MAGNITUDE;
+        long subBucket = (index - EXACT_VALUES) % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,60 @@
+package sv.projects.listperfcomp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testPercentiles_ExactValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 50; i++) {
+            histogram.record(i);
+        }
+        assertEquals(50, histogram.getTotalCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(25, histogram.getValueAtPercentile(50));
+        assertEquals(50, histogram.getValueAtPercentile(100));
+        assertEquals(50, histogram.getMax());
+    }
+
+    @Test
+    void testPercentiles_Precision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 999; i++) {
+            histogram.record(1_000);
+        }
+        histogram.record(5_000_000);
+        long p50 = histogram.getValueAtPercentile(50);
+        assertTrue(p50 >= 1_000 && p50 <= 1_000 * 1.04, "p50: " + p50);
+        assertEquals(5_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testBucketIndex_Monotonic() {
+        int previousIndex = -1;
+        for (long value = 0; value < 1_000_000; value += 7) {
+            int index = LatencyHistogram.getBucketIndex(value);
+            assertTrue(index >= previousIndex);
+            assertTrue(LatencyHistogram.getHighestValueOfBucket(index) >= value);
+            previousIndex = index;
+        }
+        assertTrue(LatencyHistogram.getHighestValueOfBucket(LatencyHistogram.getBucketIndex(Long.MAX_VALUE)) > 0);
+    }
+
+    @Test
+    void testAddAndReset() {
+        LatencyHistogram histogram1 = new LatencyHistogram();
+        LatencyHistogram histogram2 = new LatencyHistogram();
+        histogram1.record(10);
+        histogram2.record(20);
+        histogram1.add(histogram2);
+        assertEquals(2, histogram1.getTotalCount());
+        assertEquals(10, histogram1.getMin());
+        assertEquals(20, histogram1.getMax());
+        histogram1.reset();
+        assertEquals(0, histogram1.getTotalCount());
+        assertEquals(0, histogram1.getValueAtPercentile(99));
+    }
+}
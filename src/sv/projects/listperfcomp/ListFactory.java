@@ -0,0 +1,36 @@
+package sv.projects.listperfcomp;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Creates new empty lists of one list type under test (see {@link ListRegistry}).
+ * <br>
+ * Custom list types are plugged in via <code>java.util.ServiceLoader</code> : implement this interface with a public
+ * no-arg constructor and list the implementation class in
+ * <code>META-INF/services/sv.projects.listperfcomp.ListFactory</code> of a jar on the classpath.
+ */
+
+public interface ListFactory {
+
+    /**
+     * @return the unique name of the list type, used to select the list type e.g. in batch mode
+     */
+    String getName();
+
+    List<Integer> newList();
+
+    static ListFactory of(String name, Supplier<List<Integer>> supplier) {
+        return new ListFactory() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public List<Integer> newList() {
+                return supplier.get();
+            }
+        };
+    }
+}
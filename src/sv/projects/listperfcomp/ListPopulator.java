@@ -0,0 +1,64 @@
+package sv.projects.listperfcomp;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel generation of the random data of the lists under test (see {@link ListSnapshot}).
+ * <br>
+ * The random values are generated into a primitive <code>int[]</code> in parallel by fork-join tasks,
+ * each task with its own <code>SplittableRandom</code> split off the parent one, so there is no shared, contended RNG.
+ * The tasks are split by the array size only, so the same seed always gives the same dataset regardless of the number of
+ * processors.
+ */
+
+final class ListPopulator {
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    private ListPopulator() {
+    }
+
+    /**
+     * @return <code>size</code> random ints from <code>from</code> included till <code>to</code> excluded
+     */
+    static int[] generateValues(int size, int from, int to, long seed) {
+        int[] values = new int[size];
+        ForkJoinPool.commonPool().invoke(new ValuesTask(values, 0, size, from, to, new SplittableRandom(seed)));
+        return values;
+    }
+
+    private static class ValuesTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] values;
+        private final int start;
+        private final int end;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        ValuesTask(int[] values, int start, int end, int from, int to, SplittableRandom random) {
+            this.values = values;
+            this.start = start;
+            this.end = end;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SEQUENTIAL_THRESHOLD) {
+                for (int i = start; i < end; i++) {
+                    values[i] = random.nextInt(from, to);
+                }
+            } else {
+                int middle = (start + end) >>> 1;
+                SplittableRandom secondHalfRandom = random.split();     // NOTE, split before forking keeps the dataset reproducible
+                invokeAll(new ValuesTask(values, start, middle, from, to, random),
+                        new ValuesTask(values, middle, end, from, to, secondHalfRandom));
+            }
+        }
+    }
+}
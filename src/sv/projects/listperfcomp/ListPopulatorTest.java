@@ -0,0 +1,29 @@
+package sv.projects.listperfcomp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListPopulatorTest {
+
+    @Test
+    void testGenerateValues_SameSeedSameData() {
+        int[] values = ListPopulator.generateValues(200_000, -5, 5, 42);
+        assertArrayEquals(values, ListPopulator.generateValues(200_000, -5, 5, 42));
+        for (int value : values) {
+            assertTrue(value >= -5 && value < 5);
+        }
+    }
+
+    @Test
+    void testSnapshotAddTo() {
+        int[] values = ListPopulator.generateValues(1000, 0, 100, 7);
+        List<Integer> list = new LinkedList<>();
+        new ListSnapshot(values).addTo(list);
+        assertEquals(1000, list.size());
+        assertEquals(Integer.valueOf(values[999]), list.get(999));
+    }
+}
@@ -0,0 +1,65 @@
+package sv.projects.listperfcomp;
+
+import sv.projects.listperfcomp.lists.*;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Registry of all the list types that can be compared (see {@link PerformanceComparator}) :
+ * the JDK lists, the lists of this project and custom lists of any {@link ListFactory} found by
+ * <code>java.util.ServiceLoader</code>. The list types are kept in the order of registration.
+ */
+
+public final class ListRegistry {
+    private static final Map<String, ListFactory> FACTORIES = new LinkedHashMap<>();
+
+    static {
+        register(ListFactory.of("CopyOnWriteArrayList", CopyOnWriteArrayList::new));
+        register(ListFactory.of("SynchronizedRandomAccessList", () -> Collections.synchronizedList(new ArrayList<>())));
+        register(ListFactory.of("ArrayList", ArrayList::new));
+        register(ListFactory.of("LinkedList", LinkedList::new));
+        register(ListFactory.of("IntArrayList", IntArrayList::new));
+        register(ListFactory.of("StripedIntArrayList", StripedIntArrayList::new));
+        register(ListFactory.of("CopyOnWriteIntArrayList", CopyOnWriteIntArrayList::new));
+        register(ListFactory.of("OffHeapIntList", OffHeapIntList::new));
+        register(ListFactory.of("LockFreeAppendList", LockFreeAppendList::new));
+        register(ListFactory.of("ReadWriteLockList", ReadWriteLockList::new));
+        register(ListFactory.of("StampedLockList", StampedLockList::new));
+        register(ListFactory.of("ChunkedIntList", ChunkedIntList::new));
+        try {
+            for (ListFactory factory : ServiceLoader.load(ListFactory.class)) {
+                register(factory);
+            }
+        } catch (ServiceConfigurationError e) {
+            System.out.println("WARNING - Failed to load custom list factories ! [" + e.getMessage() + "]");
+        }
+    }
+
+    private ListRegistry() {
+    }
+
+    private static void register(ListFactory factory) {
+        if (getFactory(factory.getName()) != null) {
+            System.out.println("WARNING - The list type is already registered, ignored: [" + factory.getName() + "]");
+            return;
+        }
+        FACTORIES.put(factory.getName(), factory);
+    }
+
+    public static List<String> getNames() {
+        return new ArrayList<>(FACTORIES.keySet());
+    }
+
+    /**
+     * @return the factory of the list type with the given name (ignoring case) or <code>null</code> if it is not registered
+     */
+    public static ListFactory getFactory(String name) {
+        for (ListFactory factory : FACTORIES.values()) {
+            if (factory.getName().equalsIgnoreCase(name)) {
+                return factory;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,48 @@
+package sv.projects.listperfcomp;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event of one measured run of a {@link ListRunner} - one thread performing the workload on its range of a list.
+ * <br>
+ * The event spans the measured loop, so the lock, park, safepoint and GC events of a JFR recording that fall into it
+ * (same thread, same time) can be attributed to the list and the action. See {@link JfrRecording}.
+ */
+
+@Name(ListRunEvent.NAME)
+@Label("List Run")
+@Category({"List Performance Comparator"})
+@Description("One thread performing a workload on its range of a list under test")
+@StackTrace(false)
+class ListRunEvent extends Event {
+    static final String NAME = "sv.projects.listperfcomp.ListRun";
+
+    @Label("List Type")
+    String listType;
+
+    @Label("Action")
+    String action;
+
+    @Label("Thread Index")
+    @Description("Index of the thread within the test cycle, from 1, 0 - unknown")
+    int threadIndex;
+
+    @Label("Range Start")
+    int rangeStart;
+
+    @Label("Range End")
+    int rangeEnd;
+
+    @Label("Operations")
+    long operations;
+
+    @Label("Elapsed Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
@@ -1,13 +1,41 @@
 package sv.projects.listperfcomp;
 
+import sv.projects.listperfcomp.lists.IntList;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
  * A <code>Callable</code> task executor for the List Performance Comparator (see {@link PerformanceComparator})
- * that iterates through a list within defined limits and performs <code>get()</code> or <code>add()</code> actions
- * on each member returning elapsed time.
+ * that performs the operations of a {@link Workload} as many times as there are elements within defined limits
+ * of a list, returning elapsed time.
+ * <br>
+ * The keys of the operations are taken from the defined limits by the key distribution of the workload, or from the whole list
+ * if the workload shares the ranges, unless the partitioning of the workload divides them among the threads otherwise
+ * (see {@link Workload.Partitioning}). Lists backed by primitive storage ({@link IntList}) are accessed through their unboxed methods.
+ * In a batched access mode (see {@link Workload.AccessMode}) every operation is a bulk call on a batch of consecutive elements,
+ * counted as one operation per element actually performed.
+ * <br>
+ * Measurement - the latency of each single operation (or bulk call) is recorded into a {@link LatencyHistogram};
+ * consecutive operations share one <code>System.nanoTime()</code> call, so each recorded latency includes the overhead
+ * of one timer call. Values returned by <code>get()</code> are folded into a volatile sink written after the loop,
+ * so the JIT can not elide the loop.
+ * The bytes allocated by the thread (see {@link MemoryStats}) and its lock contention (see {@link ContentionStats}) are sampled
+ * around the loop, which is wrapped in a {@link ListRunEvent} committed when a JFR recording is running.
+ * With a deadline set, the loop ends early once the deadline has passed, {@link #getOperations()} tells how many operations were done.
+ * <br>
+ * Concurrent modifications by the other threads - if the workload removes elements, operations on a list emptied meanwhile
+ * are skipped; an iteration, or a bulk call on a <code>subList()</code> view, ends early and a bulk call aborted this way
+ * is not counted.
+ * <br>
+ * For warmed-up results with error bars use the JMH benchmark module (see <code>sv.projects.listperfcomp.jmh</code>).
  */
 
 public class ListRunner implements Callable<Long> {
@@ -15,28 +43,325 @@ public class ListRunner implements Callable<Long> {
     private int start;
     private int end;
     private CountDownLatch latch;
-    private PerformanceComparator.Action action;
+    private Workload workload;
+    private LatencyHistogram histogram;
+    private IntList intList;
+    private int keyFrom;
+    private int keyRange;
+    private SplittableRandom random;
+    private ZipfianGenerator zipfianGenerator;
+    private List<Integer> bulk;
+    private List<Integer> batch;            // values of the bulk calls of the batched access modes
+    private Integer[] batchArray;
+    private int batchConsumed;
+    private final Consumer<Integer> batchConsumer = value -> batchConsumed ^= value;
+    private static final UnaryOperator<Integer> BATCH_SET = value -> value;
+    private volatile int sink;                  // NOTE, only written, the volatile write keeps the consumed values alive
+    private long allocatedBytes = MemoryStats.NOT_AVAILABLE;
+    private int threadIndex;
+    private boolean hasDeadline;
+    private long deadline;
+    private int operations;
+    private int listSize;
+    private int numberOfThreads = 1;
+    private long[] contention = new long[ContentionStats.VALUES];
+
+    public ListRunner(List<Integer> list, int start, int end, CountDownLatch latch, Workload workload, LatencyHistogram histogram) {
+        this(list, start, end, latch, workload, histogram, 0);
+    }
 
-    public ListRunner(List<Integer> list, int start, int end, CountDownLatch latch, PerformanceComparator.Action action) {
+    /**
+     * @param threadIndex index of the thread within the test cycle, from 1, reported in the {@link ListRunEvent}
+     */
+    public ListRunner(List<Integer> list, int start, int end, CountDownLatch latch, Workload workload, LatencyHistogram histogram,
+                      int threadIndex) {
         this.list = list;
         this.start = start;
         this.end = end;
         this.latch = latch;
-        this.action = action;
+        this.workload = workload;
+        this.histogram = histogram;
+        this.threadIndex = threadIndex;
+        this.intList = list instanceof IntList ? (IntList) list : null;
+        this.keyFrom = workload.isPerThreadRanges() ? start : 0;
+        this.keyRange = Math.max(workload.isPerThreadRanges() ? end - start : list.size(), 1);
+        this.listSize = Math.max(list.size(), 1);
+        this.random = new SplittableRandom(start);      // NOTE, reproducible keys per range
+        if (workload.getKeyDistribution() == Workload.KeyDistribution.ZIPFIAN) {
+            this.zipfianGenerator = new ZipfianGenerator(keyRange);
+        }
+        this.bulk = new ArrayList<>(Workload.BULK_SIZE);
+        for (int i = 0; i < Workload.BULK_SIZE; i++) {
+            bulk.add(start + i);
+        }
+        if (workload.isBatched()) {
+            this.batch = new ArrayList<>(workload.getBatchSize());
+            for (int i = 0; i < workload.getBatchSize(); i++) {
+                batch.add(start + i);
+            }
+            this.batchArray = new Integer[workload.getBatchSize()];
+        }
     }
 
     public Long call() throws InterruptedException {
+        Workload.Operation[] schedule = workload.getSchedule();
+        boolean shrinking = workload.isShrinking();
         latch.await();
+        int consumed = 0;
+        long[] contentionBefore = ContentionStats.sampleCurrentThread();
+        ListRunEvent event = new ListRunEvent();      // NOTE, allocated before the allocation counter is read
+        long allocatedBefore = MemoryStats.getCurrentThreadAllocatedBytes();
+        event.begin();
         long startTime = System.nanoTime();
-        for (int i = start; i < end; i++) {
-            switch (action) {
-                case ACCESS_MEMBER:
-                    list.get(i);
-                    break;
-                case ADD_MEMBER:
-                    list.add(i);
+        long previousTime = startTime;
+        int steps = end - start;
+        int step = 0;
+        int performed = 0;
+        int batchSize = workload.getBatchSize();
+        while (step < steps) {
+            int key = getKey(step);
+            int count = Math.min(batchSize, steps - step);
+            int done = count;
+            if (batch != null) {
+                done = 0;           // NOTE, only the elements of a batch actually performed are counted
+                try {
+                    done = performBatch(schedule[(step / batchSize) % schedule.length], shrinking ? getKeyWithinSize(key) : key, count);
+                    consumed ^= batchConsumed;
+                } catch (IndexOutOfBoundsException e) {
+                    // NOTE, the list has been emptied by other threads meanwhile
+                }
+            } else if (shrinking) {
+                try {
+                    consumed ^= perform(schedule[step % schedule.length], getKeyWithinSize(key));
+                } catch (IndexOutOfBoundsException e) {
+                    // NOTE, the list has been emptied by other threads meanwhile
+                }
+            } else {
+                consumed ^= perform(schedule[step % schedule.length], key);
+            }
+            long currentTime = System.nanoTime();
+            histogram.record(currentTime - previousTime);
+            previousTime = currentTime;
+            step += count;
+            performed += done;
+            if (hasDeadline && currentTime - deadline > 0) {
+                break;          // NOTE, the time budget of the list is exhausted
+            }
+        }
+        operations = performed;
+        long elapsedTime = previousTime - startTime;
+        event.end();
+        if (event.shouldCommit()) {
+            event.listType = list.getClass().getSimpleName();
+            event.action = workload.getName();
+            event.threadIndex = threadIndex;
+            event.rangeStart = start;
+            event.rangeEnd = end;
+            event.operations = operations;
+            event.elapsed = elapsedTime;
+            event.commit();
+        }
+        long allocatedAfter = MemoryStats.getCurrentThreadAllocatedBytes();
+        if (allocatedBefore != MemoryStats.NOT_AVAILABLE && allocatedAfter != MemoryStats.NOT_AVAILABLE) {
+            allocatedBytes = allocatedAfter - allocatedBefore;
+        }
+        contention = ContentionStats.since(ContentionStats.sampleCurrentThread(), contentionBefore);
+        sink = consumed;
+        return elapsedTime;
+    }
+
+    private int getKey(int step) {
+        switch (workload.getPartitioning()) {
+            case INTERLEAVED:
+                return (int) ((Math.max(threadIndex - 1, 0) + (long) step * numberOfThreads) % listSize);
+            case RANDOM:
+                return random.nextInt(listSize);
+            case HOT_INDEX:
+                return listSize / 2;
+            default:
+                break;
+        }
+        switch (workload.getKeyDistribution()) {
+            case UNIFORM:
+                return keyFrom + random.nextInt(keyRange);
+            case ZIPFIAN:
+                return keyFrom + zipfianGenerator.next(random.nextDouble());
+            default:
+                return keyFrom + step % keyRange;
+        }
+    }
+
+    private int getKeyWithinSize(int key) {
+        int size = list.size();
+        return key < size || size == 0 ? key : key % size;
+    }
+
+    private int perform(Workload.Operation operation, int key) {
+        switch (operation) {
+            case GET:
+                return get(key);
+            case ADD:
+                add(key);
+                return 0;
+            case SET:
+                return set(key, key);
+            case REMOVE_HEAD:
+                return list.isEmpty() ? 0 : list.remove(0);
+            case CONTAINS:
+                return list.contains(key) ? 1 : 0;
+            case ITERATE:
+                return iterate(key);
+            case ADD_ALL:
+                return list.addAll(bulk) ? 1 : 0;
+            case INSERT:
+                list.add(key, key);
+                return 0;
+            case REMOVE:
+                return list.remove(key);
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    /**
+     * Performs the operation on a batch of up to <code>count</code> consecutive elements, the consumed value is left in
+     * <code>batchConsumed</code>.
+     *
+     * @return the elements actually performed - fewer than <code>count</code> at the end of the list, 0 if the bulk call was aborted
+     */
+    private int performBatch(Workload.Operation operation, int from, int count) {
+        int to = Math.min(from + count, list.size());
+        List<Integer> values = count == batch.size() ? batch : batch.subList(0, count);
+        batchConsumed = 0;
+        try {
+            switch (operation) {
+                case GET:
+                case ITERATE:
+                    return readBatch(from, to);
+                case ADD:
+                case ADD_ALL:
+                    batchConsumed = list.addAll(values) ? 1 : 0;
+                    return count;
+                case SET:
+                    list.subList(from, to).replaceAll(BATCH_SET);
+                    return to - from;
+                case REMOVE_HEAD:
+                    int removed = Math.min(count, list.size());
+                    list.subList(0, removed).clear();
+                    return removed;
+                case CONTAINS:
+                    batchConsumed = list.containsAll(values) ? 1 : 0;
+                    return count;
+                case INSERT:
+                    list.addAll(from, values);
+                    return count;
+                case REMOVE:
+                    list.subList(from, to).clear();
+                    return to - from;
+                default:
+                    throw new IllegalArgumentException("Unknown operation " + operation);
             }
+        } catch (ConcurrentModificationException e) {
+            return 0;       // NOTE, the bulk call ends early if the list is modified by other threads meanwhile, not counted
         }
-        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * @return the elements read
+     */
+    private int readBatch(int from, int to) {
+        switch (workload.getAccessMode()) {
+            case SUB_LIST:
+                List<Integer> range = list.subList(from, to);
+                for (int i = 0; i < range.size(); i++) {
+                    batchConsumed ^= range.get(i);
+                }
+                return range.size();
+            case TO_ARRAY:
+                Integer[] values = list.subList(from, to).toArray(batchArray);
+                for (int i = 0; i < to - from; i++) {
+                    batchConsumed ^= values[i];
+                }
+                return to - from;
+            case ITERATOR:
+                Iterator<Integer> iterator = list.listIterator(from);
+                int read = 0;
+                for (int i = from; i < to && iterator.hasNext(); i++) {
+                    batchConsumed ^= iterator.next();
+                    read++;
+                }
+                return read;
+            default:
+                list.subList(from, to).forEach(batchConsumer);
+                return to - from;
+        }
+    }
+
+    private int get(int index) {
+        return intList != null ? intList.getInt(index) : list.get(index);
+    }
+
+    private void add(int value) {
+        if (intList != null) {
+            intList.addInt(value);
+        } else {
+            list.add(value);
+        }
+    }
+
+    private int set(int index, int value) {
+        return intList != null ? intList.setInt(index, value) : list.set(index, value);
+    }
+
+    private int iterate(int fromIndex) {
+        int consumed = 0;
+        Iterator<Integer> iterator = list.listIterator(fromIndex);
+        try {
+            for (int i = 0; i < Workload.BULK_SIZE && iterator.hasNext(); i++) {
+                consumed ^= iterator.next();
+            }
+        } catch (ConcurrentModificationException e) {
+            // NOTE, the iteration ends early if the list is modified by other threads meanwhile
+        }
+        return consumed;
+    }
+
+    /**
+     * The loop ends after the operation during which the deadline has passed.
+     *
+     * @param deadline in <code>System.nanoTime()</code> units
+     */
+    void setDeadline(long deadline) {
+        this.hasDeadline = true;
+        this.deadline = deadline;
+    }
+
+    /**
+     * @param numberOfThreads threads of the test cycle, the stride of the interleaved partitioning
+     */
+    void setNumberOfThreads(int numberOfThreads) {
+        this.numberOfThreads = numberOfThreads;
+    }
+
+    /**
+     * @return the contention values of the last run, see {@link ContentionStats}
+     */
+    long[] getContention() {
+        return contention.clone();
+    }
+
+    /**
+     * @return the number of operations done by the last run, less than the range if the deadline has passed
+     * or batches were cut short
+     */
+    int getOperations() {
+        return operations;
+    }
+
+    /**
+     * @return bytes allocated by the thread during the measured loop or {@link MemoryStats#NOT_AVAILABLE}
+     */
+    long getAllocatedBytes() {
+        return allocatedBytes;
     }
 }
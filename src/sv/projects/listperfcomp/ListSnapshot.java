@@ -0,0 +1,53 @@
+package sv.projects.listperfcomp;
+
+import sv.projects.listperfcomp.lists.IntList;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable dataset the lists under test are restored from (see {@link PerformanceComparator}).
+ * <br>
+ * The dataset is generated once (see {@link ListPopulator}) and kept both as primitive <code>int[]</code> and as boxed
+ * <code>Integer[]</code>, so restoring a list is a <code>clear()</code> followed by one bulk copy -
+ * <code>addAllInts()</code> for primitive int lists, <code>addAll()</code> otherwise - without generating
+ * or boxing any value again. Every list and every test cycle starts from exactly the same data.
+ */
+
+final class ListSnapshot {
+    private final int[] values;
+    private final List<Integer> boxedValues;
+
+    ListSnapshot(int[] values) {
+        this.values = values.clone();
+        Integer[] boxed = new Integer[values.length];
+        Arrays.parallelSetAll(boxed, i -> this.values[i]);
+        this.boxedValues = Arrays.asList(boxed);
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    void addTo(List<Integer> list) {
+        if (list instanceof IntList) {
+            ((IntList) list).addAllInts(values);
+        } else {
+            list.addAll(boxedValues);
+        }
+    }
+
+    /**
+     * Adds the values boxed again, so the list does not share the <code>Integer</code> objects of this snapshot
+     * and holds its own values as in an application, e.g. to measure its memory footprint.
+     */
+    void addCopyTo(List<Integer> list) {
+        if (list instanceof IntList) {
+            ((IntList) list).addAllInts(values);
+        } else {
+            Integer[] boxed = new Integer[values.length];
+            Arrays.parallelSetAll(boxed, i -> values[i]);
+            list.addAll(Arrays.asList(boxed));
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package sv.projects.listperfcomp;
+
+/**
+ * Aggregated result of all test cycles of one workload on one list (see {@link PerformanceComparator}) :
+ * average elapsed time of each thread, the latency histogram of each thread merged over all the cycles,
+ * the garbage collections during all the cycles and the memory footprint of the list.
+ * <br>
+ * The warmup cycles are not part of the result. The test cycles may end early (see {@link Completion}).
+ * The throughput of each cycle is summarized by {@link #getThroughputStats()} - mean, standard deviation
+ * and 95% confidence interval without the outlier cycles.
+ */
+
+public class ListTestResult {
+    /**
+     * How the test cycles of a list ended.
+     */
+    public enum Completion {
+        ALL_CYCLES("all cycles"),
+        CONVERGED("confidence interval converged"),
+        TIME_BUDGET("time budget exceeded");
+
+        private final String name;
+
+        Completion(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private final String listType;
+    private final int listSize;
+    private final Workload workload;
+    private final long[] avgThreadNanos;
+    private final long[][] cycleThreadNanos;      // raw samples [cycle][thread]
+    private final long[][] cycleThreadOperations;  // raw operations [cycle][thread]
+    private final long[] threadOperations;        // average per test cycle
+    private final LatencyHistogram[] threadHistograms;
+    private final GcStats gcStats;
+    private final MemoryStats memoryStats;
+    private final ContentionStats contentionStats;
+    private final int warmupCycles;
+    private final Completion completion;
+    private SampleStats throughputStats;
+
+    ListTestResult(String listType, int listSize, Workload workload,
+                   long[] avgThreadNanos, long[][] cycleThreadNanos, long[][] cycleThreadOperations,
+                   LatencyHistogram[] threadHistograms, GcStats gcStats, MemoryStats memoryStats,
+                   ContentionStats contentionStats, int warmupCycles, Completion completion) {
+        this.listType = listType;
+        this.listSize = listSize;
+        this.workload = workload;
+        this.avgThreadNanos = avgThreadNanos;
+        this.cycleThreadNanos = cycleThreadNanos;
+        this.cycleThreadOperations = cycleThreadOperations;
+        this.threadOperations = new long[avgThreadNanos.length];
+        for (long[] operations : cycleThreadOperations) {
+            for (int thread = 0; thread < threadOperations.length; thread++) {
+                threadOperations[thread] += operations[thread];
+            }
+        }
+        for (int thread = 0; thread < threadOperations.length; thread++) {
+            threadOperations[thread] /= Math.max(cycleThreadOperations.length, 1);
+        }
+        this.threadHistograms = threadHistograms;
+        this.gcStats = gcStats;
+        this.memoryStats = memoryStats;
+        this.contentionStats = contentionStats;
+        this.warmupCycles = warmupCycles;
+        this.completion = completion;
+    }
+
+    public String getListType() {
+        return listType;
+    }
+
+    public int getListSize() {
+        return listSize;
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    public int getNumberOfThreads() {
+        return avgThreadNanos.length;
+    }
+
+    public long getAvgThreadNanos(int thread) {
+        return avgThreadNanos[thread];
+    }
+
+    public double getAvgThreadMs(int thread) {
+        return avgThreadNanos[thread] / 1_000_000.0;
+    }
+
+    public int getNumberOfCycles() {
+        return cycleThreadNanos.length;
+    }
+
+    /**
+     * @return the raw elapsed time of the thread in the given test cycle
+     */
+    public long getCycleThreadNanos(int cycle, int thread) {
+        return cycleThreadNanos[cycle][thread];
+    }
+
+    /**
+     * @return the number of discarded warmup cycles run before the measured cycles
+     */
+    public int getWarmupCycles() {
+        return warmupCycles;
+    }
+
+    public Completion getCompletion() {
+        return completion;
+    }
+
+    /**
+     * @return the average number of operations of the thread per test cycle
+     */
+    public long getThreadOperations(int thread) {
+        return threadOperations[thread];
+    }
+
+    /**
+     * @return the operations done by the thread in the given test cycle, less than its range if the cycle was cut short
+     */
+    public long getCycleThreadOperations(int cycle, int thread) {
+        return cycleThreadOperations[cycle][thread];
+    }
+
+    public long getSlowestThreadNanos() {
+        long slowest = 0;
+        for (long nanos : avgThreadNanos) {
+            slowest = Math.max(slowest, nanos);
+        }
+        return slowest;
+    }
+
+    public long getOpsPerSecond(int thread) {
+        return getOpsPerSecond(threadOperations[thread], avgThreadNanos[thread]);
+    }
+
+    /**
+     * @return the throughput of the fastest thread divided by the throughput of the slowest thread, 1 - no skew,
+     * 0 if a thread has done no operation
+     */
+    public double getThroughputSkew() {
+        long fastest = 0;
+        long slowest = Long.MAX_VALUE;
+        for (int thread = 0; thread < threadOperations.length; thread++) {
+            fastest = Math.max(fastest, getOpsPerSecond(thread));
+            slowest = Math.min(slowest, getOpsPerSecond(thread));
+        }
+        return slowest == 0 || slowest == Long.MAX_VALUE ? 0 : (double) fastest / slowest;
+    }
+
+    /**
+     * @return operations of all the threads per second, limited by the slowest thread
+     */
+    public long getListOpsPerSecond() {
+        long operations = 0;
+        for (long threadOps : threadOperations) {
+            operations += threadOps;
+        }
+        return getOpsPerSecond(operations, getSlowestThreadNanos());
+    }
+
+    /**
+     * @return operations of all the threads per second in the given test cycle, limited by the slowest thread
+     */
+    public long getCycleOpsPerSecond(int cycle) {
+        long operations = 0;
+        long slowestThreadNanos = 0;
+        for (int thread = 0; thread < threadOperations.length; thread++) {
+            operations += cycleThreadOperations[cycle][thread];
+            slowestThreadNanos = Math.max(slowestThreadNanos, cycleThreadNanos[cycle][thread]);
+        }
+        return getOpsPerSecond(operations, slowestThreadNanos);
+    }
+
+    /**
+     * @return statistics of the throughput of the test cycles in ops/s
+     */
+    public SampleStats getThroughputStats() {
+        if (throughputStats == null) {
+            double[] samples = new double[cycleThreadNanos.length];
+            for (int cycle = 0; cycle < samples.length; cycle++) {
+                samples[cycle] = getCycleOpsPerSecond(cycle);
+            }
+            throughputStats = SampleStats.of(samples);
+        }
+        return throughputStats;
+    }
+
+    public LatencyHistogram getThreadHistogram(int thread) {
+        return threadHistograms[thread];
+    }
+
+    public LatencyHistogram getListHistogram() {
+        LatencyHistogram listHistogram = new LatencyHistogram();
+        for (LatencyHistogram histogram : threadHistograms) {
+            listHistogram.add(histogram);
+        }
+        return listHistogram;
+    }
+
+    public GcStats getGcStats() {
+        return gcStats;
+    }
+
+    public MemoryStats getMemoryStats() {
+        return memoryStats;
+    }
+
+    public ContentionStats getContentionStats() {
+        return contentionStats;
+    }
+
+    private static long getOpsPerSecond(long operations, long nanos) {
+        return nanos == 0 ? 0 : (long) (operations * 1_000_000_000.0 / nanos);
+    }
+}
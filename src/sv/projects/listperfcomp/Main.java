@@ -1,23 +1,21 @@
 package sv.projects.listperfcomp;
 
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Entry public access point to the functionality of the List Concurrent Performance Comparator
  * (see {@link PerformanceComparator}) that measures performance of different types of lists -
  * <code>CopyOnWriteArrList, SynchronizedRandomAccessList, ArrayList, LinkedList,</code> ... -
- * in the case when the Lists are accessed by two concurrent threads performing
- * <code>get()</code> or <code>add()</code> actions.
+ * in the case when the Lists are accessed by a configurable number of concurrent threads performing
+ * <code>get()</code>, <code>add()</code> and the other operations of a {@link Workload}.
+ * Started with command-line arguments, the Comparator runs in the non-interactive batch mode (see {@link BatchRunner}).
  */
 
 public class Main {
-    static List<Integer> copyOnWriteArrList = new CopyOnWriteArrayList<>();
-    static List<Integer> syncList = Collections.synchronizedList(new ArrayList<>());
-    static List<Integer> arrayList = new ArrayList<>();
-    static List<Integer> linkedList = new LinkedList<>();
-
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(BatchRunner.run(args));
+        }
 
         System.out.println("~~~~~ List Concurrent Performance Comparator [v." + PerformanceComparator.getVersion() + "] ~~~~~");
         boolean toExit = false;
@@ -37,7 +35,7 @@ public class Main {
                         break;
                     case 3:
                         promptToSelectLists(choice);
-                        PerformanceComparator.resetBothLists();
+                        PerformanceComparator.resetAllLists();
                         printMenu();
                         break;
                     case 4:
@@ -46,7 +44,65 @@ public class Main {
                     case 5:
                         PerformanceComparator.testAndPrint(PerformanceComparator.Action.ADD_MEMBER);
                         break;
+                    case 6:
+                        PerformanceComparator.runJmhBenchmarks();
+                        break;
+                    case 7:
+                        System.out.print("Enter number of concurrent threads per list. ");
+                        PerformanceComparator.setCorrectNumberOfThreads(getIntInput(choice));
+                        break;
+                    case 8:
+                        PerformanceComparator.testScalabilityAndPrint(promptToSelectAction(choice));
+                        break;
+                    case 10:
+                        PerformanceComparator.testAndPrint(PerformanceComparator.Action.MIXED_ACCESS);
+                        break;
+                    case 11:
+                        System.out.print("Enter percentage of READS in the mixed action (the rest are writes). ");
+                        PerformanceComparator.setCorrectReadPercentage(getIntInput(choice));
+                        break;
+                    case 12:
+                        Workload workload = promptToSelectWorkload(choice);
+                        if (workload != null) {
+                            PerformanceComparator.testAndPrint(workload);
+                        }
+                        break;
+                    case 13:
+                        promptToSelectExecutionModel(choice);
+                        break;
+                    case 14:
+                        System.out.print("Enter random SEED of the list data (0 - new random data every time). ");
+                        PerformanceComparator.setRandomSeed(getIntInput(choice));
+                        break;
+                    case 15:
+                        System.out.print("Enter number of the BASELINE list the other lists are ranked relative to. ");
+                        PerformanceComparator.setCorrectBaselineList(getIntInput(choice));
+                        break;
+                    case 16:
+                        System.out.print("Enter number of WARMUP cycles run and discarded before the test cycles. ");
+                        PerformanceComparator.setCorrectNumberOfWarmupCycles(getIntInput(choice));
+                        break;
+                    case 17:
+                        System.out.print("1 - record a JFR file of every test run into the working directory, 0 - no recording. ");
+                        PerformanceComparator.setCorrectJfrDirectory(getIntInput(choice) != 0 ? "." : null);
+                        break;
+                    case 18:
+                        System.out.print("Enter the CONVERGENCE percentage - the test cycles of a list end when the 95% CI is within +/- % of the mean (0 - off). ");
+                        PerformanceComparator.setCorrectConvergencePercentage(getIntInput(choice));
+                        System.out.print("Enter the TIME BUDGET of a list in ms - the cycles of a list end when they exceed it (0 - off). ");
+                        PerformanceComparator.setCorrectListTimeBudgetMs(getIntInput(choice));
+                        break;
+                    case 19:
+                        promptToSelectAccessMode(choice);
+                        break;
+                    case 20:
+                        PerformanceComparator.testParallelStreamsAndPrint();
+                        break;
+                    case 21:
+                        PerformanceComparator.testContentionAndPrint(promptToSelectAction(choice));
+                        break;
                     case 9:
+                        PerformanceComparator.shutdownExecutor();
                         toExit = true;
                         break;
                     default:
@@ -67,40 +123,102 @@ public class Main {
         PerformanceComparator.setCorrectListIniPars(new int[] {elems, lowLimit, highLimit});
     }
 
-    private static void promptToSelectLists(Scanner listChoice) {
-        int numberOfListsThatSet = 0;
-        printSelectListsMenu();
-        while (numberOfListsThatSet != 2) {
-            switch (getIntInput(listChoice)) {
-                case 0:
-                    PerformanceComparator.printAllParsAndLists();
-                    break;
-                case 1:
-                    numberOfListsThatSet = setListAndGetNumberOfListsThatSet(numberOfListsThatSet, copyOnWriteArrList);
-                    break;
-                case 2:
-                    numberOfListsThatSet = setListAndGetNumberOfListsThatSet(numberOfListsThatSet, syncList);
-                    break;
-                case 3:
-                    numberOfListsThatSet = setListAndGetNumberOfListsThatSet(numberOfListsThatSet, arrayList);
-                    break;
-                case 4:
-                    numberOfListsThatSet = setListAndGetNumberOfListsThatSet(numberOfListsThatSet, linkedList);
-                    break;
-                default:
-                    System.out.println("Expected: ");
-                    printSelectListsMenu();
+    private static PerformanceComparator.Action promptToSelectAction(Scanner actionChoice) {
+        PerformanceComparator.Action[] actions = PerformanceComparator.Action.values();
+        while (true) {
+            for (int i = 0; i < actions.length; i++) {
+                System.out.print((i + 1) + " - " + actions[i] + "  ");
+            }
+            System.out.println();
+            int selected = getIntInput(actionChoice);
+            if (selected >= 1 && selected <= actions.length) {
+                return actions[selected - 1];
+            }
+            System.out.print("Expected: ");
+        }
+    }
+
+    private static void promptToSelectAccessMode(Scanner modeChoice) {
+        Workload.AccessMode[] modes = Workload.AccessMode.values();
+        for (int i = 0; i < modes.length; i++) {
+            System.out.print((i + 1) + " - " + modes[i] + "  ");
+        }
+        System.out.println();
+        int selected = getIntInput(modeChoice);
+        if (selected >= 1 && selected <= modes.length) {
+            PerformanceComparator.setCorrectAccessMode(modes[selected - 1]);
+            if (modes[selected - 1] != Workload.AccessMode.ELEMENT) {
+                System.out.print("Enter the BATCH size - consecutive elements per bulk call. ");
+                PerformanceComparator.setCorrectBatchSize(getIntInput(modeChoice));
             }
         }
     }
 
-    private static int setListAndGetNumberOfListsThatSet(int nmbOfLists, List<Integer> list) {
-        if (nmbOfLists == 0)
-            PerformanceComparator.setList1(list);
-        else
-            PerformanceComparator.setList2(list);
-        nmbOfLists++;
-        return nmbOfLists;
+    private static void promptToSelectExecutionModel(Scanner modelChoice) {
+        ExecutionModel[] models = ExecutionModel.values();
+        for (int i = 0; i < models.length; i++) {
+            System.out.print((i + 1) + " - " + models[i] + "  ");
+        }
+        System.out.println();
+        int selected = getIntInput(modelChoice);
+        if (selected >= 1 && selected <= models.length) {
+            PerformanceComparator.setCorrectExecutionModel(models[selected - 1]);
+        }
+    }
+
+    private static Workload promptToSelectWorkload(Scanner workloadChoice) {
+        System.out.println("0 - define CUSTOM workload");
+        PerformanceComparator.Action[] actions = PerformanceComparator.Action.values();
+        for (int i = 0; i < actions.length; i++) {
+            System.out.println((i + 1) + " - " + actions[i] + " : " + PerformanceComparator.getWorkload(actions[i]).getDescription());
+        }
+        int selected = getIntInput(workloadChoice);
+        if (selected >= 1 && selected <= actions.length) {
+            return PerformanceComparator.getWorkload(actions[selected - 1]);
+        }
+        return selected == 0 ? promptToDefineWorkload(workloadChoice) : null;
+    }
+
+    private static Workload promptToDefineWorkload(Scanner workloadChoice) {
+        Workload.Builder builder = new Workload.Builder("custom");
+        try {
+            for (Workload.Operation operation : Workload.Operation.values()) {
+                System.out.print("The WEIGHT of " + operation + " in the mix (0 - not used). ");
+                builder.operation(operation, getIntInput(workloadChoice));
+            }
+            Workload.KeyDistribution[] distributions = Workload.KeyDistribution.values();
+            for (int i = 0; i < distributions.length; i++) {
+                System.out.print((i + 1) + " - " + distributions[i] + "  ");
+            }
+            System.out.print("keys. ");
+            int distribution = getIntInput(workloadChoice);
+            builder.keyDistribution(distributions[distribution >= 1 && distribution <= distributions.length ? distribution - 1 : 0]);
+            System.out.print("1 - each thread uses keys of its own range, 0 - all threads share the keys of the whole list. ");
+            builder.perThreadRanges(getIntInput(workloadChoice) != 0);
+            return builder.build();
+        } catch (IllegalArgumentException e) {
+            System.out.println("WARNING - The workload is not correct ! [" + e.getMessage() + "]");
+            return null;
+        }
+    }
+
+    private static void promptToSelectLists(Scanner listChoice) {
+        List<String> listTypes = ListRegistry.getNames();
+        List<List<Integer>> lists = new ArrayList<>();
+        printSelectListsMenu(listTypes);
+        while (true) {
+            int selected = getIntInput(listChoice);
+            if (selected >= 1 && selected <= listTypes.size()) {
+                lists.add(ListRegistry.getFactory(listTypes.get(selected - 1)).newList());
+                System.out.println("List " + lists.size() + " - " + listTypes.get(selected - 1) + (lists.size() == 1 ? " (baseline)" : ""));
+            } else if (selected == 0 && !lists.isEmpty()) {
+                PerformanceComparator.setLists(lists);
+                return;
+            } else {
+                System.out.println("Expected: ");
+                printSelectListsMenu(listTypes);
+            }
+        }
     }
 
     private static int getIntInput(Scanner intReader) {
@@ -114,9 +232,24 @@ public class Main {
         System.out.println("0 - SHOW current configuration (test cycles, list parameters, list types and data)");
         System.out.println("1 - update number of TEST CYCLES");
         System.out.println("2 - update list PARAMETERS");
-        System.out.println("3 - update list TYPES and list DATA");
+        System.out.println("3 - update list TYPES (any number of lists) and list DATA");
         System.out.println("4 - test and show average time of ACCESSING all the elements of the lists");
         System.out.println("5 - test and show average time of ADDING new elements to the lists");
+        System.out.println("6 - run JMH benchmarks (warmed-up get()/add() of all list types with error bars, needs the jmh module)");
+        System.out.println("7 - update number of THREADS accessing each list concurrently");
+        System.out.println("8 - test SCALABILITY of an action with 1, 2, 4, ... threads up to the number of processors");
+        System.out.println("10 - test and show average time of MIXED accessing and adding with the configured read:write ratio");
+        System.out.println("11 - update READ:WRITE ratio of the mixed action");
+        System.out.println("12 - test and show average time of a WORKLOAD (set(), remove(0), contains(), iterate, addAll(), zipfian keys, custom mix ...)");
+        System.out.println("13 - update EXECUTION model of the threads (platform threads, virtual threads, fork-join pool)");
+        System.out.println("14 - update random SEED of the list data for reproducible datasets");
+        System.out.println("15 - update BASELINE list of the ranking");
+        System.out.println("16 - update number of WARMUP cycles (discarded before the test cycles)");
+        System.out.println("17 - update JFR recording of the test runs (lock, park and list run events)");
+        System.out.println("18 - update EARLY TERMINATION of the test cycles (converged confidence interval, time budget of a list)");
+        System.out.println("19 - update ACCESS mode of the actions (element at a time, or bulk batches by subList(), toArray(), iterator, forEach())");
+        System.out.println("20 - test PARALLEL STREAMS (sum, filter, map-collect) - speedup and efficiency of parallel streams over the sequential ones");
+        System.out.println("21 - test CONTENTION of an action with contiguous, interleaved, random and hot-index keys (skew, blocked and waited time)");
         System.out.println("9 - exit");
 //        List<String> stringList = new ArrayList<>();
 //        stringList.add("FF");
@@ -132,8 +265,12 @@ public class Main {
 //        maltem();
     }
 
-    private static void printSelectListsMenu() {
-        System.out.println("1|2|3|4 - choose CopyOnWriteArrList | SynchronizedRandomAccessList | ArrayList | LinkedList");
+    private static void printSelectListsMenu(List<String> listTypes) {
+        for (int i = 0; i < listTypes.size(); i++) {
+            System.out.print((i + 1) + " - " + listTypes.get(i) + (i % 4 == 3 ? "\n" : "  "));
+        }
+        System.out.println();
+        System.out.println("choose any number of lists one by one (the 1st one is the baseline), 0 - DONE");
     }
 
  /*   private static void maltem() {
@@ -0,0 +1,114 @@
+package sv.projects.listperfcomp;
+
+import sv.projects.listperfcomp.lists.OffHeapIntList;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Memory footprint of a list under test (see {@link PerformanceComparator}) :
+ * <ul>
+ * <li>retained bytes - heap (and off-heap) bytes held by a new list of the same type with the same data
+ * (boxed again, not shared with the list under test)</li>
+ * <li>allocated bytes - bytes allocated by all the threads during all the test cycles, taken from the thread allocation
+ * counters of <code>com.sun.management.ThreadMXBean</code></li>
+ * </ul>
+ * Both values are <code>-1</code> if they are not available, e.g. the list type has no public no-arg constructor
+ * or the JVM does not count allocated bytes per thread (also the case of virtual threads).
+ * <br>
+ * NOTE, the retained bytes are the difference of the used heap after full garbage collections (<code>System.gc()</code>)
+ * before and after populating a new list, so they are exact only if no other thread allocates meanwhile.
+ * The values of small lists are reliable with the G1 and Parallel collectors, the Serial collector may under-report them.
+ */
+
+public class MemoryStats {
+    static final long NOT_AVAILABLE = -1;
+    private static final int MAX_GC_CALLS = 5;
+
+    private final long retainedBytes;
+    private final int listSize;
+    private final long allocatedBytes;
+
+    MemoryStats(long retainedBytes, int listSize, long allocatedBytes) {
+        this.retainedBytes = retainedBytes;
+        this.listSize = listSize;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    public double getBytesPerElement() {
+        return retainedBytes < 0 || listSize == 0 ? NOT_AVAILABLE : (double) retainedBytes / listSize;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @param populator populates the new list with the same data as the list under test
+     */
+    static long measureRetainedBytes(List<Integer> list, Consumer<List<Integer>> populator) {
+        List<Integer> newList = newEmptyListOfSameType(list);
+        if (newList == null) {
+            return NOT_AVAILABLE;
+        }
+        long usedBefore = getUsedHeapBytes();
+        populator.accept(newList);
+        long usedAfter = getUsedHeapBytes();
+        long offHeapBytes = newList instanceof OffHeapIntList ? ((OffHeapIntList) newList).getOffHeapBytes() : 0;
+        Reference.reachabilityFence(newList);       // NOTE, the list must not be collected before the heap is measured
+        return Math.max(usedAfter - usedBefore, 0) + offHeapBytes;
+    }
+
+    /**
+     * @return bytes allocated by the current thread so far or {@link #NOT_AVAILABLE}
+     */
+    static long getCurrentThreadAllocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                return Math.max(allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId()), NOT_AVAILABLE);
+            }
+        }
+        return NOT_AVAILABLE;
+    }
+
+    private static List<Integer> newEmptyListOfSameType(List<Integer> list) {
+        String listType = list.getClass().getSimpleName();
+        if (listType.equals("SynchronizedRandomAccessList") || listType.equals("SynchronizedList")) {
+            return Collections.synchronizedList(new ArrayList<>());
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            List<Integer> newList = list.getClass().getConstructor().newInstance();
+            return newList;
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // collects the garbage until the used heap stops decreasing
+    private static long getUsedHeapBytes() {
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        long usedBytes = Long.MAX_VALUE;
+        for (int i = 0; i < MAX_GC_CALLS; i++) {
+            System.gc();
+            long currentUsedBytes = memoryBean.getHeapMemoryUsage().getUsed();
+            if (currentUsedBytes >= usedBytes) {
+                break;
+            }
+            usedBytes = currentUsedBytes;
+        }
+        return usedBytes;
+    }
+}
@@ -0,0 +1,23 @@
+package sv.projects.listperfcomp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryStatsTest {
+
+    @Test
+    void testBytesPerElement() {
+        assertEquals(4.5, new MemoryStats(4500, 1000, 0).getBytesPerElement());
+        assertEquals(MemoryStats.NOT_AVAILABLE, new MemoryStats(MemoryStats.NOT_AVAILABLE, 1000, 0).getBytesPerElement());
+    }
+
+    @Test
+    void testCurrentThreadAllocatedBytes() {
+        long before = MemoryStats.getCurrentThreadAllocatedBytes();
+        if (before != MemoryStats.NOT_AVAILABLE) {
+            byte[] allocated = new byte[1 << 20];
+            assertTrue(MemoryStats.getCurrentThreadAllocatedBytes() - before >= allocated.length);
+        }
+    }
+}
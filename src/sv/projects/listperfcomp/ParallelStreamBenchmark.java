@@ -0,0 +1,230 @@
+package sv.projects.listperfcomp;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Traversal and reduction of a list by streams (see {@link Reduction}) - sequential, and parallel on the common
+ * <code>ForkJoinPool</code> and on custom pools of 1, 2, 4, ... threads.
+ * <br>
+ * Unlike the actions, which split a list into ranges of the threads by hand, a parallel stream splits the list
+ * by its <code>Spliterator</code>, so the speedup shows how well the list splits - e.g. an <code>ArrayList</code>
+ * (<code>SIZED</code> and <code>SUBSIZED</code>, split in halves) against a <code>LinkedList</code> (split by copying
+ * batches of elements into arrays). The speedup is the time of the sequential stream divided by the time of the parallel stream,
+ * the parallel efficiency is the speedup per thread of the pool.
+ * A parallel stream on the common pool runs on its workers and on the calling thread.
+ * At least one warmup cycle is run, otherwise the sequential stream, timed first, would pay for the JIT compilation.
+ */
+
+final class ParallelStreamBenchmark {
+    static final int COMMON_POOL = 0;
+    private static final int MIN_WARMUP_CYCLES = 1;
+    private static volatile long sink;
+
+    enum Reduction {
+        SUM("sum()", stream -> stream.mapToLong(Integer::longValue).sum()),
+        FILTER_COUNT("filter().count()", stream -> stream.filter(value -> (value & 1) == 0).count()),
+        MAP_COLLECT("map().collect()", stream -> stream.map(value -> value * 2).collect(Collectors.toList()).size());
+
+        private final String name;
+        private final ToLongFunction<Stream<Integer>> function;
+
+        Reduction(String reductionName, ToLongFunction<Stream<Integer>> function) {
+            this.name = reductionName;
+            this.function = function;
+        }
+
+        long apply(Stream<Integer> stream) {
+            return function.applyAsLong(stream);
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+
+    private ParallelStreamBenchmark() {
+    }
+
+    /**
+     * @param parallelisms threads of the custom pools, {@link #COMMON_POOL} - the common pool
+     * @return the mean times of the test cycles
+     */
+    static StreamResult run(List<Integer> list, Reduction reduction, int[] parallelisms, int warmupCycles, int testCycles) {
+        double[] sequentialNanos = new double[testCycles];
+        double[][] parallelNanos = new double[parallelisms.length][testCycles];
+        ForkJoinPool[] pools = new ForkJoinPool[parallelisms.length];
+        try {
+            for (int i = 0; i < parallelisms.length; i++) {
+                pools[i] = parallelisms[i] == COMMON_POOL ? null : new ForkJoinPool(parallelisms[i]);
+            }
+            for (int cycle = -Math.max(warmupCycles, MIN_WARMUP_CYCLES); cycle < testCycles; cycle++) {
+                long sequential = timeSequential(list, reduction);
+                if (cycle >= 0) {
+                    sequentialNanos[cycle] = sequential;
+                }
+                for (int i = 0; i < parallelisms.length; i++) {
+                    long parallel = timeParallel(list, reduction, pools[i]);
+                    if (cycle >= 0) {
+                        parallelNanos[i][cycle] = parallel;
+                    }
+                }
+            }
+        } finally {
+            for (ForkJoinPool pool : pools) {
+                if (pool != null) {
+                    pool.shutdown();
+                }
+            }
+        }
+        double[] meanParallelNanos = new double[parallelisms.length];
+        for (int i = 0; i < parallelisms.length; i++) {
+            meanParallelNanos[i] = SampleStats.of(parallelNanos[i]).getMean();
+        }
+        return new StreamResult(list.getClass().getSimpleName(), reduction, SampleStats.of(sequentialNanos).getMean(),
+                parallelisms.clone(), meanParallelNanos);
+    }
+
+    /**
+     * @return the common pool followed by the custom pools of 1, 2, 4, ... threads up to the given number
+     */
+    static int[] getParallelisms(int maxThreads) {
+        int[] threadCounts = BenchmarkSession.getSweepThreadCounts(maxThreads);
+        int[] parallelisms = new int[threadCounts.length + 1];
+        parallelisms[0] = COMMON_POOL;
+        System.arraycopy(threadCounts, 0, parallelisms, 1, threadCounts.length);
+        return parallelisms;
+    }
+
+    /**
+     * @return the threads working on a parallel stream, the common pool workers and the calling thread for the common pool
+     */
+    static int getThreads(int parallelism) {
+        return parallelism == COMMON_POOL ? ForkJoinPool.getCommonPoolParallelism() + 1 : parallelism;
+    }
+
+    /**
+     * @return the characteristics of the spliterator of the list, e.g. "ORDERED SIZED SUBSIZED"
+     */
+    static String getCharacteristics(List<Integer> list) {
+        Spliterator<Integer> spliterator = list.spliterator();
+        StringJoiner characteristics = new StringJoiner(" ");
+        if (spliterator.hasCharacteristics(Spliterator.ORDERED)) {
+            characteristics.add("ORDERED");
+        }
+        if (spliterator.hasCharacteristics(Spliterator.SIZED)) {
+            characteristics.add("SIZED");
+        }
+        if (spliterator.hasCharacteristics(Spliterator.SUBSIZED)) {
+            characteristics.add("SUBSIZED");
+        }
+        if (spliterator.hasCharacteristics(Spliterator.IMMUTABLE)) {
+            characteristics.add("IMMUTABLE");
+        }
+        if (spliterator.hasCharacteristics(Spliterator.CONCURRENT)) {
+            characteristics.add("CONCURRENT");
+        }
+        return characteristics.toString();
+    }
+
+    static void printHeader(int listSize, int[] parallelisms, int testCycles) {
+        System.out.format("Parallel streams, size [%d]  -  mean time of %d cycle(s), speedup and parallel efficiency against the sequential stream\n",
+                listSize, testCycles);
+        System.out.format("%30s  %-17s  |  %12s", "list", "reduction", "sequential");
+        for (int parallelism : parallelisms) {
+            System.out.format("  |  %27s", parallelism == COMMON_POOL ? "common pool, " + getThreads(parallelism) + " threads"
+                    : "pool of " + parallelism + " threads");
+        }
+        System.out.println();
+    }
+
+    static void printResult(StreamResult result) {
+        System.out.format("%30s  %-17s  |  %9.3f ms", result.getListType(), result.getReduction(), result.getSequentialNanos() / 1e6);
+        for (int i = 0; i < result.getNumberOfParallelisms(); i++) {
+            System.out.format("  |  %9.3f ms %6.2fx %5.0f%%", result.getParallelNanos(i) / 1e6, result.getSpeedup(i),
+                    result.getEfficiency(i) * 100);
+        }
+        System.out.println();
+    }
+
+    private static long timeSequential(List<Integer> list, Reduction reduction) {
+        long startTime = System.nanoTime();
+        sink ^= reduction.apply(list.stream());
+        return System.nanoTime() - startTime;
+    }
+
+    private static long timeParallel(List<Integer> list, Reduction reduction, ForkJoinPool pool) {
+        long startTime = System.nanoTime();
+        if (pool == null) {
+            sink ^= reduction.apply(list.parallelStream());
+        } else {
+            try {
+                // NOTE, a parallel stream started by a task of a pool runs on the threads of that pool
+                sink ^= pool.submit(() -> reduction.apply(list.parallelStream())).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("The parallel stream failed on " + list.getClass().getSimpleName(), e.getCause());
+            }
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * The mean times of the sequential and the parallel streams of one reduction of a list.
+     */
+    static final class StreamResult {
+        private final String listType;
+        private final Reduction reduction;
+        private final double sequentialNanos;
+        private final int[] parallelisms;
+        private final double[] parallelNanos;
+
+        private StreamResult(String listType, Reduction reduction, double sequentialNanos, int[] parallelisms, double[] parallelNanos) {
+            this.listType = listType;
+            this.reduction = reduction;
+            this.sequentialNanos = sequentialNanos;
+            this.parallelisms = parallelisms;
+            this.parallelNanos = parallelNanos;
+        }
+
+        String getListType() {
+            return listType;
+        }
+
+        Reduction getReduction() {
+            return reduction;
+        }
+
+        double getSequentialNanos() {
+            return sequentialNanos;
+        }
+
+        int getNumberOfParallelisms() {
+            return parallelisms.length;
+        }
+
+        int getParallelism(int i) {
+            return parallelisms[i];
+        }
+
+        double getParallelNanos(int i) {
+            return parallelNanos[i];
+        }
+
+        double getSpeedup(int i) {
+            return parallelNanos[i] == 0 ? 0 : sequentialNanos / parallelNanos[i];
+        }
+
+        double getEfficiency(int i) {
+            return getSpeedup(i) / getThreads(parallelisms[i]);
+        }
+    }
+}
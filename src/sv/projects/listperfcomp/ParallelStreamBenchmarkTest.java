@@ -0,0 +1,51 @@
+package sv.projects.listperfcomp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelStreamBenchmarkTest {
+
+    @Test
+    void testReductions_ParallelSameAsSequential() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            list.add(i);
+        }
+        assertEquals(49_995_000L, ParallelStreamBenchmark.Reduction.SUM.apply(list.stream()));
+        assertEquals(5_000L, ParallelStreamBenchmark.Reduction.FILTER_COUNT.apply(list.stream()));
+        assertEquals(10_000L, ParallelStreamBenchmark.Reduction.MAP_COLLECT.apply(list.stream()));
+        for (ParallelStreamBenchmark.Reduction reduction : ParallelStreamBenchmark.Reduction.values()) {
+            assertEquals(reduction.apply(list.stream()), reduction.apply(new LinkedList<>(list).parallelStream()));
+        }
+    }
+
+    @Test
+    void testRun_SpeedupAndEfficiency() {
+        List<Integer> list = new LinkedList<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8));
+        int[] parallelisms = new int[]{ParallelStreamBenchmark.COMMON_POOL, 1, 2};
+        ParallelStreamBenchmark.StreamResult result = ParallelStreamBenchmark.run(list, ParallelStreamBenchmark.Reduction.SUM,
+                parallelisms, 1, 3);
+        assertEquals("LinkedList", result.getListType());
+        assertEquals(3, result.getNumberOfParallelisms());
+        assertTrue(result.getSequentialNanos() > 0);
+        for (int i = 0; i < parallelisms.length; i++) {
+            assertTrue(result.getParallelNanos(i) > 0);
+            assertEquals(result.getSequentialNanos() / result.getParallelNanos(i), result.getSpeedup(i), 1e-9);
+        }
+        assertEquals(result.getSpeedup(2) / 2, result.getEfficiency(2), 1e-9);
+    }
+
+    @Test
+    void testParallelismsAndCharacteristics() {
+        assertArrayEquals(new int[]{ParallelStreamBenchmark.COMMON_POOL, 1, 2, 4, 6}, ParallelStreamBenchmark.getParallelisms(6));
+        assertEquals("ORDERED SIZED SUBSIZED", ParallelStreamBenchmark.getCharacteristics(new ArrayList<>()));
+        assertEquals("ORDERED SIZED SUBSIZED IMMUTABLE", ParallelStreamBenchmark.getCharacteristics(new CopyOnWriteArrayList<>()));
+    }
+}
@@ -1,42 +1,71 @@
 package sv.projects.listperfcomp;
 
-import java.util.Arrays;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.*;
 
 /**
  * Entry point to the List Concurrent Performance Comparator that measures performance of different types of lists -
  * <code>CopyOnWriteArrList, SynchronizedRandomAccessList, ArrayList, LinkedList,</code> ...
- * - in the case when the Lists are accessed by two concurrent threads performing
- * <code>get()</code> or <code>add()</code> actions.
+ * - in the case when the Lists are accessed by a configurable number of concurrent threads performing
+ * <code>get()</code>, <code>add()</code> and the other operations of a {@link Workload}.
  <br>
  The Comparator has got an interactive command-line menu through which it is possible to :
  <ul>
- <li>show current configuration on the screen</li>
- <li>update current configuration</li>
- <li>run tests and show average results for lists under tests</li>
- <li>the following list types can be selected for test :
+ <li>show and update the current configuration (see {@link BenchmarkConfig})</li>
+ <li>run a predefined or custom workload on any number of lists (see {@link ListRegistry}) and show the latency percentiles,
+ throughput statistics, garbage collections, memory footprint and lock contention of every list, ranked relative to a baseline list
+ with the significance of the differences</li>
+ <li>choose how the lists are accessed - the number of threads and their execution model (see {@link ExecutionModel}),
+ one element at a time or in batches by bulk calls (see {@link Workload.AccessMode}) and the partitioning of the keys
+ among the threads (see {@link Workload.Partitioning})</li>
+ <li>control the measurement - discarded warmup cycles, the progress after every cycle, an early end of the cycles of a list
+ when the confidence interval has converged or the time budget is exceeded, a JFR recording of every test run</li>
+ <li>analyse further - the scalability over 1, 2, 4, ... threads, the contention under every partitioning
+ (see {@link ContentionStats}), the speedup of parallel streams (see {@link ParallelStreamBenchmark}) and JMH benchmarks
+ of all list types (warmed-up results with error bars)</li>
+ </ul>
+ The same tests run without the menu in batch mode (see {@link BatchRunner}), and the comparator can be embedded as a library -
+ every {@link BenchmarkSession} owns its lists, {@link BenchmarkConfig} and executor, this class is a facade over the default session
+ of the menu.
+ <br>
+ The following list types can be selected for test :
  <ul style="list-style-type: circle;">
  <li><code>CopyOnWriteArrList</code></li>
  <li><code>SynchronizedRandomAccessList</code></li>
  <li><code>ArrayList</code></li>
  <li><code>LinkedList</code></li>
- </ul>
- </li>
+ <li><code>IntArrayList</code>, <code>StripedIntArrayList</code>, <code>CopyOnWriteIntArrayList</code> - lists of primitive ints</li>
+ <li><code>ChunkedIntList</code> - unrolled list of int chunks indexed by a Fenwick tree, cheap inserts and removes in the middle</li>
+ <li><code>OffHeapIntList</code> - list of ints stored off-heap in direct byte buffers</li>
+ <li><code>LockFreeAppendList</code> - lock-free append-only list</li>
+ <li><code>ReadWriteLockList</code>, <code>StampedLockList</code> - lists guarded by a read-write lock / by a stamped lock with optimistic reads</li>
  </ul>
  <h3>Concurrent performance test description</h3>
  <h4>Mechanism of retrieving data</h4>
- Two <code>Callable</code> threads perform a selected action (<code>access</code> a member or <code>add</code> a member)
- on first and second halves of a list respectively.
- Submitting the threads to <code>newFixedThreadPool</code> and starting them simultaneously via <code>CountDownLatch</code>.
- The threads will compete to perform the action on the assigned part of the list.
+ The configured number of <code>Callable</code> threads (see {@link ListRunner}) perform a selected workload
+ on consecutive equal ranges of a list - by default two threads on the first and second halves -
+ or on the keys divided among them by the partitioning of the workload.
+ Submitting the threads to a reused executor (a fixed pool of platform threads, virtual threads or a <code>ForkJoinPool</code>,
+ see {@link ExecutionModel}) and starting them simultaneously via <code>CountDownLatch</code>.
+ The threads will compete to perform the workload on the assigned part of the list.
  <br><br>
  <h4>Further data processing</h4>
  The results time is aggregated separately for each thread of each list under test. Then averages are calculated in <code>ms</code>
- and formatted results are printed out.
+ and formatted results are printed out together with latency percentiles and throughput of each thread and of the whole list,
+ the throughput statistics of the cycles, the garbage collections, the memory footprint and the lock contention.
   <br><i>Example:</i><br>
- <pre>          CopyOnWriteArrayList, size [1000]  -  action: get()  |  thread 1 :       2 ms  |  thread 2 :       2 ms
-  SynchronizedRandomAccessList, size [1000]  -  action: get()  |  thread 1 :      11 ms  |  thread 2 :      13 ms</pre>
+ <pre>          CopyOnWriteArrayList, size [100000]  -  action: get()  |  thread 1 :      1.912 ms  |  thread 2 :      1.874 ms
+                  latency [ns]  thread 1     |  min      15  |  p50      17  |  p90      19  |  p99      31  |  p99.9     319  |  max     14735  |     26,150,627 ops/s
+                  latency [ns]  thread 2     |  min      15  |  p50      17  |  p90      19  |  p99      29  |  p99.9     287  |  max     21903  |     26,680,896 ops/s
+                  latency [ns]  all threads  |  min      15  |  p50      17  |  p90      19  |  p99      30  |  p99.9     303  |  max     21903  |     26,150,627 ops/s
+                            gc  collections 0  |  pause time 0 ms
+                    throughput  mean    52,301,523 ops/s  |  95% CI +/- 0 ops/s  |  stddev 0 ops/s  |  cv 0.0%  |  cycles 1 (all cycles)  |  outliers 0  |  warmup 0
+                        memory  retained 1,817,368 bytes  |  18.2 bytes/element  |  allocated during test 8,736 bytes
+                    contention  thread skew 1.02x  |  blocked         0      n/a ms  |  waited         0      n/a ms</pre>
  <br>
  <h3>JUnit tests</h3>
  JUnit tests are covering a part of functionality.
@@ -48,14 +77,31 @@ import java.util.concurrent.*;
 
 public class PerformanceComparator {
     private final static String version = "0.1";
-    static List<Integer> list1;
-    static List<Integer> list2;
-    static int[] listIniPars;       // [listSize, valueFrom, valueTo]
-    static int numberOfTestCycles = 1;  // default value
+    private final static String JMH_LAUNCHER_CLASS = "sv.projects.listperfcomp.jmh.JmhLauncher";
+    final static String JMH_CLASSPATH_PROPERTY = "listperfcomp.jmh.classpath";   // the jmh module classes and the JMH jars
+    private final static BenchmarkSession defaultSession = new BenchmarkSession();    // used by the interactive menu
 
+    static {
+        defaultSession.getConfig().setProgress(true);       // NOTE, long runs of the menu show every finished cycle
+    }
+
+    /**
+     * Predefined workloads (see {@link Workload}).
+     */
     enum Action {
         ACCESS_MEMBER("get()"),
-        ADD_MEMBER("add()");
+        ADD_MEMBER("add()"),
+        MIXED_ACCESS("get()/add()"),
+        SET_MEMBER("set()"),
+        REMOVE_HEAD("remove(0)"),
+        CONTAINS_MEMBER("contains()"),
+        ITERATE("iterate(" + Workload.BULK_SIZE + ")"),
+        ADD_ALL("addAll(" + Workload.BULK_SIZE + ")"),
+        HOT_SPOT_ACCESS("get() zipfian"),
+        INSERT_MEMBER("add(i)"),
+        REMOVE_MEMBER("remove(i)"),
+        INSERT_REMOVE_MIX("get()/add(i)/remove(i)"),
+        PRODUCTION_MIX("production mix");
 
         private String name;
 
@@ -63,157 +109,173 @@ public class PerformanceComparator {
             this.name = actionName;
         }
 
+        Workload toWorkload() {
+            return toWorkload(BenchmarkConfig.DEFAULT_READ_PERCENTAGE);
+        }
+
+        /**
+         * @param readPercentage reads in the mixed action, the rest are writes
+         */
+        Workload toWorkload(int readPercentage) {
+            switch (this) {
+                case ADD_MEMBER:
+                    return new Workload.Builder(name).operation(Workload.Operation.ADD, 1).build();
+                case MIXED_ACCESS:
+                    return new Workload.Builder(name + " " + readPercentage + ":" + (100 - readPercentage))
+                            .operation(Workload.Operation.GET, readPercentage).operation(Workload.Operation.ADD, 100 - readPercentage).build();
+                case SET_MEMBER:
+                    return new Workload.Builder(name).operation(Workload.Operation.SET, 1)
+                            .keyDistribution(Workload.KeyDistribution.UNIFORM).build();
+                case REMOVE_HEAD:
+                    return new Workload.Builder(name).operation(Workload.Operation.REMOVE_HEAD, 1).build();
+                case CONTAINS_MEMBER:
+                    return new Workload.Builder(name).operation(Workload.Operation.CONTAINS, 1)
+                            .keyDistribution(Workload.KeyDistribution.UNIFORM).build();
+                case ITERATE:
+                    return new Workload.Builder(name).operation(Workload.Operation.ITERATE, 1).build();
+                case ADD_ALL:
+                    return new Workload.Builder(name).operation(Workload.Operation.ADD_ALL, 1).build();
+                case HOT_SPOT_ACCESS:
+                    return new Workload.Builder(name).operation(Workload.Operation.GET, 1)
+                            .keyDistribution(Workload.KeyDistribution.ZIPFIAN).perThreadRanges(false).build();
+                case INSERT_MEMBER:
+                    return new Workload.Builder(name).operation(Workload.Operation.INSERT, 1)
+                            .keyDistribution(Workload.KeyDistribution.UNIFORM).build();
+                case REMOVE_MEMBER:
+                    return new Workload.Builder(name).operation(Workload.Operation.REMOVE, 1)
+                            .keyDistribution(Workload.KeyDistribution.UNIFORM).build();
+                case INSERT_REMOVE_MIX:
+                    return new Workload.Builder(name).operation(Workload.Operation.GET, 50).operation(Workload.Operation.INSERT, 25)
+                            .operation(Workload.Operation.REMOVE, 25).keyDistribution(Workload.KeyDistribution.UNIFORM).build();
+                case PRODUCTION_MIX:
+                    return new Workload.Builder(name).operation(Workload.Operation.GET, 70).operation(Workload.Operation.SET, 10)
+                            .operation(Workload.Operation.ITERATE, 10).operation(Workload.Operation.ADD, 5)
+                            .operation(Workload.Operation.CONTAINS, 3).operation(Workload.Operation.REMOVE_HEAD, 2)
+                            .keyDistribution(Workload.KeyDistribution.ZIPFIAN).build();
+                default:
+                    return new Workload.Builder(name).operation(Workload.Operation.GET, 1).build();
+            }
+        }
+
         @Override
         public String toString() {
             return this.name;
         }
     }
 
+    /**
+     * @return the session of the interactive menu, other sessions can be created and run independently
+     */
+    static BenchmarkSession getDefaultSession() {
+        return defaultSession;
+    }
+
     static void testAndPrint(Action action) {
-        if (isInitialDataValid()) {
-            testListsPerfAndPrint(action);
-        }
+        defaultSession.testAndPrint(action);
     }
 
-    private static boolean isInitialDataValid() {       // NOTE, the order is important here
-        return isListWithData(list1, "1st") && isListWithData(list2, "2nd") && isIniParsCorrect() && isTestCyclesCorrect() && areParsAndListsSynced();
+    static void testAndPrint(Workload workload) {
+        defaultSession.testAndPrint(workload);
     }
 
-    private static void testListsPerfAndPrint(Action action) {
-        printTestResults(list1, action, getAvgListPerformanceInMsAndReset(action, list1));
-        printTestResults(list2, action, getAvgListPerformanceInMsAndReset(action, list2));
+    static Workload getWorkload(Action action) {
+        return defaultSession.getWorkload(action);
     }
 
-    private static boolean isIniParsCorrect() {
-        if (listIniPars == null || listIniPars.length != 3 || listIniPars[0] < 1 || listIniPars[1] >= listIniPars[2]) {
-            System.out.println("WARNING - Three list configuration pars are not correct ! Actual: [" + Arrays.toString(listIniPars) + "]");
-            return false;
-        }
-        return true;
+    static void testScalabilityAndPrint(Action action) {
+        defaultSession.testScalabilityAndPrint(action);
     }
 
-    private static boolean areParsAndListsSynced() {
-        if (list1.size() != 0 && list2.size() != 0 && (list1.size() != listIniPars[0] || list2.size() != listIniPars[0])) {
-            System.out.println("WARNING - The list ini par " + listIniPars[0] + " not synced with list sizes : [" + list1.size() + " and " + list2.size() + "]");
-            return false;
-        }
-        return true;
+    static void testContentionAndPrint(Action action) {
+        defaultSession.testContentionAndPrint(action);
     }
 
-    private static boolean isListWithData(List<Integer> list, String listName) {
-        if (list == null || list.isEmpty()) {
-            System.out.println("WARNING - The " + listName + " list to compare has no data ! [" + list + "]");
-            return false;
-        }
-        return true;
+    static void testParallelStreamsAndPrint() {
+        defaultSession.testParallelStreamsAndPrint();
     }
 
-    private static boolean isTestCyclesCorrect() {
-        if (numberOfTestCycles < 1) {
-            System.out.println("WARNING - The number of test cycles is incorrect: [" + numberOfTestCycles + "]");
-            return false;
+    /**
+     * Runs the JMH benchmarks of the <code>jmh</code> module in this JVM if the module is on the classpath
+     * (e.g. started with the classpath of the module), otherwise in a forked JVM with the classpath given
+     * by the system property {@link #JMH_CLASSPATH_PROPERTY}. The core module does not depend on JMH.
+     */
+    static void runJmhBenchmarks() {
+        BenchmarkConfig config = defaultSession.getConfig();
+        if (!config.isIniParsCorrect()) {
+            return;
+        }
+        try {
+            Class.forName(JMH_LAUNCHER_CLASS).getMethod("launch", int[].class).invoke(null, (Object) config.getListIniPars());
+        } catch (ClassNotFoundException e) {
+            String jmhClasspath = System.getProperty(JMH_CLASSPATH_PROPERTY);
+            if (jmhClasspath == null || jmhClasspath.isEmpty()) {
+                System.out.println("WARNING - The JMH benchmark module is not on the classpath ! Add it, or start with -D"
+                        + JMH_CLASSPATH_PROPERTY + "=<jmh module classes and JMH jars> to run it in a forked JVM");
+                return;
+            }
+            forkJmhBenchmarks(getJmhCommand(jmhClasspath, config.getListIniPars()));
+        } catch (InvocationTargetException e) {
+            System.out.println("Failed to run the JMH benchmarks. " + e.getCause());
+        } catch (ReflectiveOperationException e) {
+            System.out.println("Failed to run the JMH benchmarks. " + e);
         }
-        return true;
     }
 
-    private static void printTestResults(List<Integer> list, Action action, long[] testResult) {
-        System.out.format("%30s, size [%d]  -  action: %s  |  thread 1 : %7d ms  |  thread 2 : %7d ms\n", list.getClass().getSimpleName(), list.size(), action, testResult[0], testResult[1]);
+    static List<String> getJmhCommand(String jmhClasspath, int[] listIniPars) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(jmhClasspath + File.pathSeparator + System.getProperty("java.class.path"));
+        command.add(JMH_LAUNCHER_CLASS);
+        for (int listIniPar : listIniPars) {
+            command.add(String.valueOf(listIniPar));
+        }
+        return command;
     }
 
-    private static long[] getAvgListPerformanceInMsAndReset(Action action, List<Integer> list) {
-        long[] averageResults = new long[]{0L, 0L};
-        long[] currentResults;
-        for (int i = 0; i < numberOfTestCycles; i++) {
-            currentResults = calcTimeToPerformActionOnAllElem(list, action);
-            averageResults[0] += currentResults[0];
-            averageResults[1] += currentResults[1];
-        }
-        if (list.size() != listIniPars[0]) {
-            resetList(list);
-        }
-        averageResults[0] = (averageResults[0] / numberOfTestCycles) / 1000;
-        averageResults[1] = (averageResults[1] / numberOfTestCycles) / 1000;
-        return averageResults;
-    }
-
-    private static long[] calcTimeToPerformActionOnAllElem(List<Integer> list, Action action) {
-        CountDownLatch latch = new CountDownLatch(1);
-        ExecutorService executor = Executors.newFixedThreadPool(2);
-        Future<Long> computationResult1 = executor.submit(new ListRunner(list, 0, listIniPars[0] / 2, latch, action));
-        Future<Long> computationResult2 = executor.submit(new ListRunner(list, listIniPars[0] / 2, listIniPars[0], latch, action));
-        latch.countDown();
-        executor.shutdown();
-        long[] threadsResult = new long[2];
+    private static void forkJmhBenchmarks(List<String> command) {
         try {
-            threadsResult = new long[]{computationResult1.get(), computationResult2.get()};
-        } catch (ExecutionException e) {
-            System.out.println("Failed to retrieve a result from a thread. " + e);
+            int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+            if (exitCode != 0) {
+                System.out.println("Failed to run the JMH benchmarks. The forked JVM exited with code " + exitCode);
+            }
+        } catch (IOException e) {
+            System.out.println("Failed to run the JMH benchmarks. " + e);
         } catch (InterruptedException e) {
-            System.out.println("Thread execution was interrupted. " + e);
+            Thread.currentThread().interrupt();
+            System.out.println("Failed to run the JMH benchmarks. " + e);
         }
-        return threadsResult;
     }
 
-     private static void resetList(List<Integer> list) {
-        list.clear();
-        populateList(list);
+    static void shutdownExecutor() {
+        defaultSession.shutdownExecutor();
     }
 
-    static void resetBothLists() {
-        if (isIniParsCorrect()) {
-            resetList(list1);
-            resetList(list2);
-        }
+    static void resetAllLists() {
+        defaultSession.resetAllLists();
     }
 
     static void populateList(List<Integer> list) {
-        for (int i = 0; i < listIniPars[0]; i++) {
-            // random int from listIniPars[1] included till listIniPars[2] excluded
-            int randomValue = (int) (Math.random() * (listIniPars[2] - listIniPars[1]) + listIniPars[1]);
-            list.add(i, randomValue);
-        }
+        defaultSession.populateList(list);
     }
 
     static void printAllParsAndLists() {
-        System.out.println("The number of test cycles : [" + numberOfTestCycles + "]");
-        System.out.print("Parameters of the Lists: ");
-        System.out.println(Arrays.toString(PerformanceComparator.listIniPars));
-        printListTypeAndContent("List 1", list1);
-        printListTypeAndContent("List 2", list2);
-    }
-
-    private static void printListTypeAndContent(String listName, List<Integer> list) {
-        System.out.print(listName + " - ");
-        if (list == null)
-            System.out.println("null");
-        else {
-            System.out.print("["+ list.getClass().getSimpleName() + "] - ");
-            printAllListIntegers(list);
-        }
-    }
-
-    private static void printAllListIntegers(List<Integer> list) {
-        System.out.print("size:" + list.size() + " | ");
-        for (Integer item : list) {
-            System.out.print(item + "|");
-        }
-        System.out.println();
+        defaultSession.printAllParsAndLists();
     }
 
-    static void setList1(List<Integer> list1) {
-        PerformanceComparator.list1 = list1;
+    /**
+     * Sets the lists under test, the 1st list becomes the baseline.
+     */
+    static void setLists(List<List<Integer>> lists) {
+        defaultSession.setLists(lists);
     }
 
-    static void setList2(List<Integer> list2) {
-        PerformanceComparator.list2 = list2;
+    static void setCorrectBaselineList(int baselineList) {
+        defaultSession.setCorrectBaselineList(baselineList);
     }
 
     static void setCorrectListIniPars(int[] listIniPars) {
-        int[] currentListIniPars = PerformanceComparator.listIniPars;
-        PerformanceComparator.listIniPars = listIniPars;
-        if (!isIniParsCorrect()) {
-            PerformanceComparator.listIniPars = currentListIniPars;
-        }
+        defaultSession.getConfig().setCorrectListIniPars(listIniPars);
     }
 
     static String getVersion() {
@@ -221,10 +283,46 @@ public class PerformanceComparator {
     }
 
     static void setCorrectNumberOfTestCycles(int numberOfTestCycles) {
-        int currentCycles = PerformanceComparator.numberOfTestCycles;
-        PerformanceComparator.numberOfTestCycles = numberOfTestCycles;
-        if (!isTestCyclesCorrect()) {
-            PerformanceComparator.numberOfTestCycles = currentCycles;
-        }
+        defaultSession.getConfig().setCorrectNumberOfTestCycles(numberOfTestCycles);
+    }
+
+    static void setCorrectNumberOfWarmupCycles(int numberOfWarmupCycles) {
+        defaultSession.getConfig().setCorrectNumberOfWarmupCycles(numberOfWarmupCycles);
+    }
+
+    static void setCorrectNumberOfThreads(int numberOfThreads) {
+        defaultSession.getConfig().setCorrectNumberOfThreads(numberOfThreads);
+    }
+
+    static void setRandomSeed(long randomSeed) {
+        defaultSession.getConfig().setRandomSeed(randomSeed);
+    }
+
+    static void setCorrectExecutionModel(ExecutionModel executionModel) {
+        defaultSession.getConfig().setCorrectExecutionModel(executionModel);
+    }
+
+    static void setCorrectConvergencePercentage(double convergencePercentage) {
+        defaultSession.getConfig().setCorrectConvergencePercentage(convergencePercentage);
+    }
+
+    static void setCorrectListTimeBudgetMs(long listTimeBudgetMs) {
+        defaultSession.getConfig().setCorrectListTimeBudgetMs(listTimeBudgetMs);
+    }
+
+    static void setCorrectJfrDirectory(String jfrDirectory) {
+        defaultSession.getConfig().setCorrectJfrDirectory(jfrDirectory);
+    }
+
+    static void setCorrectReadPercentage(int readPercentage) {
+        defaultSession.getConfig().setCorrectReadPercentage(readPercentage);
+    }
+
+    static void setCorrectAccessMode(Workload.AccessMode accessMode) {
+        defaultSession.getConfig().setCorrectAccessMode(accessMode);
+    }
+
+    static void setCorrectBatchSize(int batchSize) {
+        defaultSession.getConfig().setCorrectBatchSize(batchSize);
     }
 }
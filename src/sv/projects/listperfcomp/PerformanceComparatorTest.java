@@ -4,11 +4,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -17,25 +20,33 @@ class PerformanceComparatorTest {
     private final ByteArrayOutputStream errContent = new ByteArrayOutputStream();
     private final PrintStream originalOut = System.out;
     private final PrintStream originalErr = System.err;
+    private List<Integer> list1;
+    private List<Integer> list2;
+    private BenchmarkSession session;
+    private BenchmarkConfig config;
 
     @BeforeEach
     void populateData() {
-        PerformanceComparator.list1 = new ArrayList<>();
-        PerformanceComparator.list1.add(0, 0);
-        PerformanceComparator.list1.add(1, 1);
-        PerformanceComparator.list1.add(2, 2);
-        PerformanceComparator.list2 = new ArrayList<>();
-        PerformanceComparator.list2.add(0, 9);
-        PerformanceComparator.list2.add(1, 8);
-        PerformanceComparator.list2.add(2, 7);
-        PerformanceComparator.listIniPars = new int[]{3, 0, 10};
+        list1 = new ArrayList<>();
+        list1.add(0, 0);
+        list1.add(1, 1);
+        list1.add(2, 2);
+        list2 = new ArrayList<>();
+        list2.add(0, 9);
+        list2.add(1, 8);
+        list2.add(2, 7);
+        session = PerformanceComparator.getDefaultSession();
+        config = session.getConfig();
+        PerformanceComparator.setLists(new ArrayList<>(Arrays.asList(list1, list2)));
+        config.listIniPars = new int[]{3, 0, 10};
+        config.numberOfThreads = 2;
     }
 
     //    @Disabled
     @Test
     void testCompare_EmptyList1_NEG() {
         setupStreams();
-        PerformanceComparator.list1 = Collections.EMPTY_LIST;
+        session.lists.set(0, Collections.EMPTY_LIST);
         PerformanceComparator.testAndPrint(PerformanceComparator.Action.ACCESS_MEMBER);
         assertEquals("WARNING - The 1st list to compare has no data ! [[]]", outContent.toString().trim());
         restoreStreams();
@@ -44,7 +55,7 @@ class PerformanceComparatorTest {
     @Test
     void testCompare_NullList1_NEG() {
         setupStreams();
-        PerformanceComparator.list1 = new ArrayList<>();
+        session.lists.set(0, new ArrayList<>());
         PerformanceComparator.testAndPrint(PerformanceComparator.Action.ACCESS_MEMBER);
         assertEquals("WARNING - The 1st list to compare has no data ! [[]]", outContent.toString().trim());
         restoreStreams();
@@ -53,7 +64,7 @@ class PerformanceComparatorTest {
     @Test
     void testCompare_NullParList_NEG() {
         setupStreams();
-        PerformanceComparator.listIniPars = null;
+        config.listIniPars = null;
         PerformanceComparator.testAndPrint(PerformanceComparator.Action.ACCESS_MEMBER);
         assertEquals("WARNING - Three list configuration pars are not correct ! Actual: [null]", outContent.toString().trim());
         restoreStreams();
@@ -62,7 +73,7 @@ class PerformanceComparatorTest {
     @Test
     void testCompare_WrongSizeParList_NEG() {
         setupStreams();
-        PerformanceComparator.listIniPars = new int[]{3, 4};
+        config.listIniPars = new int[]{3, 4};
         PerformanceComparator.testAndPrint(PerformanceComparator.Action.ACCESS_MEMBER);
         assertEquals("WARNING - Three list configuration pars are not correct ! Actual: [[3, 4]]", outContent.toString().trim());
         restoreStreams();
@@ -71,7 +82,7 @@ class PerformanceComparatorTest {
     @Test
     void testCompare_WrongPar1_NEG() {
         setupStreams();
-        PerformanceComparator.listIniPars = new int[]{0, 3, 4};
+        config.listIniPars = new int[]{0, 3, 4};
         PerformanceComparator.testAndPrint(PerformanceComparator.Action.ACCESS_MEMBER);
         assertEquals("WARNING - Three list configuration pars are not correct ! Actual: [[0, 3, 4]]", outContent.toString().trim());
         restoreStreams();
@@ -80,7 +91,7 @@ class PerformanceComparatorTest {
     @Test
     void testCompare_WrongPar2And3_NEG() {
         setupStreams();
-        PerformanceComparator.listIniPars = new int[]{10, 7, 2};
+        config.listIniPars = new int[]{10, 7, 2};
         PerformanceComparator.testAndPrint(PerformanceComparator.Action.ACCESS_MEMBER);
         assertEquals("WARNING - Three list configuration pars are not correct ! Actual: [[10, 7, 2]]", outContent.toString().trim());
         restoreStreams();
@@ -88,51 +99,217 @@ class PerformanceComparatorTest {
 
     @Test
     void testPopulateList() {
-        PerformanceComparator.populateList(PerformanceComparator.list1);
-        assertNotEquals("[0, 1, 2]", Arrays.toString(PerformanceComparator.list1.toArray()));
+        PerformanceComparator.populateList(list1);
+        assertNotEquals("[0, 1, 2]", Arrays.toString(list1.toArray()));
     }
 
     @Test
     void testPopulateList_Size() {
-        PerformanceComparator.list1 = new ArrayList<>();
-        PerformanceComparator.populateList(PerformanceComparator.list1);
-        assertEquals(3, PerformanceComparator.list1.size());
+        list1 = new ArrayList<>();
+        PerformanceComparator.populateList(list1);
+        assertEquals(3, list1.size());
     }
 
     @Test
     void testPopulateList_Limits() {
-        PerformanceComparator.list2 = new ArrayList<>();
-        PerformanceComparator.populateList(PerformanceComparator.list2);
-        for (int integer : PerformanceComparator.list2) {
+        list2 = new ArrayList<>();
+        PerformanceComparator.populateList(list2);
+        for (int integer : list2) {
             assertTrue(integer >= 0 && integer < 10);
         }
     }
 
     @Test
-    void testSetList1() {
+    void testMutatingWorkload_ListRestoredFromSnapshot() {
+        list1.clear();
+        PerformanceComparator.populateList(list1);
+        list2.clear();
+        PerformanceComparator.populateList(list2);
+        assertEquals(list1, list2);
+        List<Integer> data = new ArrayList<>(list1);
+        config.numberOfTestCycles = 3;
+        session.getAvgListPerformanceAndReset(PerformanceComparator.Action.ADD_MEMBER.toWorkload(), list1);
+        config.numberOfTestCycles = 1;
+        assertEquals(data, list1);
+    }
+
+    @Test
+    void testSetLists() {
         List<Integer> list = new ArrayList<>();
         list.add(0, 3);
         list.add(1, 4);
         list.add(2, 5);
-        PerformanceComparator.setList1(list);
-        assertEquals("[3, 4, 5]", Arrays.toString(PerformanceComparator.list1.toArray()));
+        PerformanceComparator.setCorrectBaselineList(2);
+        PerformanceComparator.setLists(new ArrayList<>(Arrays.asList(list, list1, list2)));
+        assertEquals("[3, 4, 5]", Arrays.toString(session.lists.get(0).toArray()));
+        assertEquals(1, session.baselineList);
     }
 
     @Test
-    void testSetList2() {
-        List<Integer> list = new ArrayList<>();
-        list.add(0, 6);
-        list.add(1, 5);
-        list.add(2, 4);
-        PerformanceComparator.setList2(list);
-        assertEquals("[6, 5, 4]", Arrays.toString(PerformanceComparator.list2.toArray()));
+    void testSetBaselineList_NEG() {
+        setupStreams();
+        PerformanceComparator.setCorrectBaselineList(2);
+        PerformanceComparator.setCorrectBaselineList(3);
+        assertEquals("WARNING - The baseline list is incorrect: [3]", outContent.toString().trim());
+        assertEquals(2, session.baselineList);
+        restoreStreams();
+    }
+
+    @Test
+    void testCompare_ThreeListsInterleaved() {
+        List<Integer> list3 = new LinkedList<>(Arrays.asList(4, 5, 6));
+        session.lists.add(list3);
+        config.numberOfTestCycles = 2;
+        List<ListTestResult> results = session.getAvgListsPerformanceAndReset(
+                PerformanceComparator.Action.ACCESS_MEMBER.toWorkload(), session.lists);
+        config.numberOfTestCycles = 1;
+        assertEquals(3, results.size());
+        assertEquals("LinkedList", results.get(2).getListType());
+        assertEquals(2, results.get(2).getNumberOfCycles());
+    }
+
+    @Test
+    void testWarmupCycles_Discarded() {
+        config.numberOfWarmupCycles = 2;
+        config.numberOfTestCycles = 3;
+        ListTestResult result = session.getAvgListPerformanceAndReset(PerformanceComparator.Action.ACCESS_MEMBER.toWorkload(), list1);
+        config.numberOfWarmupCycles = 0;
+        config.numberOfTestCycles = 1;
+        assertEquals(2, result.getWarmupCycles());
+        assertEquals(3, result.getNumberOfCycles());
+        assertEquals(3 * 3, result.getListHistogram().getTotalCount());
+        assertEquals(3, result.getThroughputStats().getCount() + result.getThroughputStats().getOutliers());
+    }
+
+    @Test
+    void testSetWarmupCycles_NEG() {
+        setupStreams();
+        PerformanceComparator.setCorrectNumberOfWarmupCycles(-1);
+        assertEquals("WARNING - The number of warmup cycles is incorrect: [-1]", outContent.toString().trim());
+        assertEquals(0, config.numberOfWarmupCycles);
+        restoreStreams();
+    }
+
+    @Test
+    void testSetBatchSize_NEG() {
+        setupStreams();
+        PerformanceComparator.setCorrectBatchSize(0);
+        assertEquals("WARNING - The batch size is incorrect: [0]", outContent.toString().trim());
+        assertEquals(Workload.BULK_SIZE, config.getBatchSize());
+        restoreStreams();
+    }
+
+    @Test
+    void testGetRelativeSpeed() {
+        assertEquals("1.00x faster", BenchmarkSession.getRelativeSpeed(100, 100));
+        assertEquals("3.40x slower", BenchmarkSession.getRelativeSpeed(100, 340));
+        assertEquals("2.50x faster", BenchmarkSession.getRelativeSpeed(250, 100));
+        assertEquals("n/a", BenchmarkSession.getRelativeSpeed(0, 100));
+    }
+
+    @Test
+    void testGetOrdinal() {
+        assertEquals("1st", BenchmarkSession.getOrdinal(1));
+        assertEquals("2nd", BenchmarkSession.getOrdinal(2));
+        assertEquals("3rd", BenchmarkSession.getOrdinal(3));
+        assertEquals("11th", BenchmarkSession.getOrdinal(11));
+        assertEquals("22nd", BenchmarkSession.getOrdinal(22));
     }
 
     @Test
     void testSetListIniPars() {
         int[] newPars = new int[]{3, 14, 23};
         PerformanceComparator.setCorrectListIniPars(newPars);
-        assertArrayEquals(newPars, PerformanceComparator.listIniPars);
+        assertArrayEquals(newPars, config.listIniPars);
+    }
+
+    @Test
+    void testSetNumberOfThreads() {
+        PerformanceComparator.setCorrectNumberOfThreads(8);
+        assertEquals(8, config.numberOfThreads);
+    }
+
+    @Test
+    void testSetNumberOfThreads_NEG() {
+        setupStreams();
+        PerformanceComparator.setCorrectNumberOfThreads(0);
+        assertEquals("WARNING - The number of threads is incorrect: [0]", outContent.toString().trim());
+        assertEquals(2, config.numberOfThreads);
+        restoreStreams();
+    }
+
+    @Test
+    void testSetReadPercentage_NEG() {
+        setupStreams();
+        PerformanceComparator.setCorrectReadPercentage(80);
+        PerformanceComparator.setCorrectReadPercentage(101);
+        assertEquals("WARNING - The read percentage is incorrect: [101]", outContent.toString().trim());
+        assertEquals(80, config.readPercentage);
+        restoreStreams();
+    }
+
+    @Test
+    void testExecutionModels_SameResultsAsPlatformThreads() {
+        for (ExecutionModel executionModel : ExecutionModel.values()) {
+            if (executionModel.isAvailable()) {
+                PerformanceComparator.setCorrectExecutionModel(executionModel);
+                ListTestResult result = session.getAvgListPerformanceAndReset(
+                        PerformanceComparator.Action.ACCESS_MEMBER.toWorkload(), list1);
+                assertEquals(3, result.getListHistogram().getTotalCount(), executionModel.name());
+            }
+        }
+        PerformanceComparator.setCorrectExecutionModel(ExecutionModel.PLATFORM_THREADS);
+        PerformanceComparator.shutdownExecutor();
+    }
+
+    @Test
+    void testSetExecutionModel_NEG() {
+        setupStreams();
+        PerformanceComparator.setCorrectExecutionModel(null);
+        assertEquals("WARNING - The execution model is incorrect: [null], still [platform threads]", outContent.toString().trim());
+        assertEquals(ExecutionModel.PLATFORM_THREADS, config.getExecutionModel());
+        restoreStreams();
+    }
+
+    @Test
+    void testRunJmhBenchmarks_NoModule_NEG() {
+        setupStreams();
+        System.clearProperty(PerformanceComparator.JMH_CLASSPATH_PROPERTY);
+        PerformanceComparator.runJmhBenchmarks();
+        assertTrue(outContent.toString().startsWith("WARNING - The JMH benchmark module is not on the classpath !"));
+        restoreStreams();
+    }
+
+    @Test
+    void testGetJmhCommand() {
+        List<String> command = PerformanceComparator.getJmhCommand("jmh-classes", new int[]{1000, 0, 100});
+        assertEquals("-cp", command.get(1));
+        assertTrue(command.get(2).startsWith("jmh-classes" + File.pathSeparator));
+        assertEquals(Arrays.asList("sv.projects.listperfcomp.jmh.JmhLauncher", "1000", "0", "100"), command.subList(3, 7));
+    }
+
+    @Test
+    void testVirtualThreads_AvailableOnlyIfUsable() {
+        if (Runtime.version().feature() < 19) {
+            assertFalse(ExecutionModel.VIRTUAL_THREADS.isAvailable());
+        }
+        if (ExecutionModel.VIRTUAL_THREADS.isAvailable()) {
+            ExecutorService executor = ExecutionModel.VIRTUAL_THREADS.newExecutor(2);
+            executor.shutdown();
+        } else {
+            setupStreams();
+            BenchmarkConfig virtualConfig = new BenchmarkConfig();
+            virtualConfig.setCorrectExecutionModel(ExecutionModel.VIRTUAL_THREADS);
+            assertEquals(ExecutionModel.PLATFORM_THREADS, virtualConfig.getExecutionModel());
+            restoreStreams();
+        }
+    }
+
+    @Test
+    void testGetSweepThreadCounts() {
+        assertArrayEquals(new int[]{1, 2, 4, 6}, BenchmarkSession.getSweepThreadCounts(6));
+        assertArrayEquals(new int[]{1, 2, 4, 8}, BenchmarkSession.getSweepThreadCounts(8));
+        assertArrayEquals(new int[]{1}, BenchmarkSession.getSweepThreadCounts(1));
     }
 
     private void setupStreams() {
@@ -0,0 +1,163 @@
+package sv.projects.listperfcomp;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes test results (see {@link ListTestResult}) in machine-readable formats, so results of different runs
+ * can be diffed and compared over time :
+ * <ul>
+ * <li>CSV - one row per raw sample (test cycle and thread) with the summary of the result repeated in each row</li>
+ * <li>JSON - an array with one object per result, raw samples as <code>[cycle][thread]</code> nanos and operations</li>
+ * </ul>
+ */
+
+public class ResultExporter {
+    static final String CSV_HEADER = "list,size,workload,threads,cycle,thread,elapsed_ns,operations,cycle_ops_per_s,"
+            + "list_ops_per_s,mean_ops_per_s,stddev_ops_per_s,ci95_ops_per_s,cv,outlier_cycles,warmup_cycles,completion,latency_min_ns,latency_p50_ns,latency_p90_ns,latency_p99_ns,latency_p999_ns,latency_max_ns,gc_count,gc_time_ms,"
+            + "retained_bytes,bytes_per_element,allocated_bytes,throughput_skew,blocked_count,blocked_ms,waited_count,waited_ms";
+
+    private ResultExporter() {
+    }
+
+    public static void writeCsv(List<ListTestResult> results, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        for (ListTestResult result : results) {
+            LatencyHistogram histogram = result.getListHistogram();
+            MemoryStats memoryStats = result.getMemoryStats();
+            ContentionStats contention = result.getContentionStats();
+            SampleStats throughputStats = result.getThroughputStats();
+            String summary = "," + result.getListOpsPerSecond() + "," + Math.round(throughputStats.getMean())
+                    + "," + Math.round(throughputStats.getStandardDeviation()) + "," + Math.round(throughputStats.getConfidenceInterval95())
+                    + "," + throughputStats.getCoefficientOfVariation() + "," + throughputStats.getOutliers() + "," + result.getWarmupCycles() + "," + result.getCompletion().name() + "," + histogram.getMin() + "," + histogram.getValueAtPercentile(50)
+                    + "," + histogram.getValueAtPercentile(90) + "," + histogram.getValueAtPercentile(99) + "," + histogram.getValueAtPercentile(99.9)
+                    + "," + histogram.getMax() + "," + result.getGcStats().getCount() + "," + result.getGcStats().getTimeMs()
+                    + "," + memoryStats.getRetainedBytes() + "," + memoryStats.getBytesPerElement() + "," + memoryStats.getAllocatedBytes()
+                    + "," + result.getThroughputSkew() + "," + contention.getTotal(ContentionStats.BLOCKED_COUNT)
+                    + "," + contention.getTotal(ContentionStats.BLOCKED_MS) + "," + contention.getTotal(ContentionStats.WAITED_COUNT)
+                    + "," + contention.getTotal(ContentionStats.WAITED_MS);
+            for (int cycle = 0; cycle < result.getNumberOfCycles(); cycle++) {
+                for (int thread = 0; thread < result.getNumberOfThreads(); thread++) {
+                    writer.write(toCsvValue(result.getListType()) + "," + result.getListSize() + "," + toCsvValue(result.getWorkload().getName())
+                            + "," + result.getNumberOfThreads() + "," + (cycle + 1) + "," + (thread + 1) + "," + result.getCycleThreadNanos(cycle, thread)
+                            + "," + result.getCycleThreadOperations(cycle, thread) + "," + result.getCycleOpsPerSecond(cycle) + summary);
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    public static void writeJson(List<ListTestResult> results, Writer writer) throws IOException {
+        writer.write("[");
+        for (int i = 0; i < results.size(); i++) {
+            ListTestResult result = results.get(i);
+            LatencyHistogram histogram = result.getListHistogram();
+            SampleStats throughputStats = result.getThroughputStats();
+            ContentionStats contention = result.getContentionStats();
+            writer.write(i == 0 ? "\n" : ",\n");
+            writer.write("  {\"list\": " + toJsonString(result.getListType())
+                    + ", \"size\": " + result.getListSize()
+                    + ", \"workload\": " + toJsonString(result.getWorkload().getName())
+                    + ", \"workloadDescription\": " + toJsonString(result.getWorkload().getDescription())
+                    + ", \"threads\": " + result.getNumberOfThreads()
+                    + ", \"cycles\": " + result.getNumberOfCycles()
+                    + ", \"warmupCycles\": " + result.getWarmupCycles()
+                    + ", \"completion\": " + toJsonString(result.getCompletion().name())
+                    + ",\n   \"listOpsPerSecond\": " + result.getListOpsPerSecond()
+                    + ", \"throughput\": {\"meanOpsPerSecond\": " + Math.round(throughputStats.getMean())
+                    + ", \"stddevOpsPerSecond\": " + Math.round(throughputStats.getStandardDeviation())
+                    + ", \"ci95OpsPerSecond\": " + Math.round(throughputStats.getConfidenceInterval95())
+                    + ", \"cv\": " + throughputStats.getCoefficientOfVariation() + ", \"outlierCycles\": " + throughputStats.getOutliers() + "}"
+                    + ", \"latencyNs\": {\"min\": " + histogram.getMin() + ", \"p50\": " + histogram.getValueAtPercentile(50)
+                    + ", \"p90\": " + histogram.getValueAtPercentile(90) + ", \"p99\": " + histogram.getValueAtPercentile(99)
+                    + ", \"p999\": " + histogram.getValueAtPercentile(99.9) + ", \"max\": " + histogram.getMax() + "}"
+                    + ", \"gc\": {\"count\": " + result.getGcStats().getCount() + ", \"timeMs\": " + result.getGcStats().getTimeMs() + "}"
+                    + ",\n   \"memory\": {\"retainedBytes\": " + result.getMemoryStats().getRetainedBytes()
+                    + ", \"bytesPerElement\": " + result.getMemoryStats().getBytesPerElement()
+                    + ", \"allocatedBytes\": " + result.getMemoryStats().getAllocatedBytes() + "}"
+                    + ",\n   \"contention\": {\"throughputSkew\": " + result.getThroughputSkew()
+                    + ", \"blockedCount\": " + contention.getTotal(ContentionStats.BLOCKED_COUNT)
+                    + ", \"blockedMs\": " + contention.getTotal(ContentionStats.BLOCKED_MS)
+                    + ", \"waitedCount\": " + contention.getTotal(ContentionStats.WAITED_COUNT)
+                    + ", \"waitedMs\": " + contention.getTotal(ContentionStats.WAITED_MS) + "}"
+                    + ",\n   \"threadOperations\": " + toJsonArray(getThreadOperations(result))
+                    + ",\n   \"samplesNs\": [");
+            for (int cycle = 0; cycle < result.getNumberOfCycles(); cycle++) {
+                writer.write((cycle == 0 ? "" : ", ") + toJsonArray(getCycleSamples(result, cycle)));
+            }
+            writer.write("],\n   \"operations\": [");
+            for (int cycle = 0; cycle < result.getNumberOfCycles(); cycle++) {
+                writer.write((cycle == 0 ? "" : ", ") + toJsonArray(getCycleOperations(result, cycle)));
+            }
+            writer.write("]}");
+        }
+        writer.write("\n]\n");
+        writer.flush();
+    }
+
+    private static long[] getThreadOperations(ListTestResult result) {
+        long[] operations = new long[result.getNumberOfThreads()];
+        for (int thread = 0; thread < operations.length; thread++) {
+            operations[thread] = result.getThreadOperations(thread);
+        }
+        return operations;
+    }
+
+    private static long[] getCycleOperations(ListTestResult result, int cycle) {
+        long[] operations = new long[result.getNumberOfThreads()];
+        for (int thread = 0; thread < operations.length; thread++) {
+            operations[thread] = result.getCycleThreadOperations(cycle, thread);
+        }
+        return operations;
+    }
+
+    private static long[] getCycleSamples(ListTestResult result, int cycle) {
+        long[] samples = new long[result.getNumberOfThreads()];
+        for (int thread = 0; thread < samples.length; thread++) {
+            samples[thread] = result.getCycleThreadNanos(cycle, thread);
+        }
+        return samples;
+    }
+
+    private static String toJsonArray(long[] values) {
+        StringBuilder array = new StringBuilder("[");
+        for (int i = 0; i < values.length; i++) {
+            array.append(i == 0 ? "" : ", ").append(values[i]);
+        }
+        return array.append(']').toString();
+    }
+
+    static String toCsvValue(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    static String toJsonString(String value) {
+        StringBuilder json = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"').toString();
+    }
+}
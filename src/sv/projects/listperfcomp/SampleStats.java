@@ -0,0 +1,151 @@
+package sv.projects.listperfcomp;
+
+import java.util.Arrays;
+
+/**
+ * Descriptive statistics of the samples of one list (e.g. the throughput of each test cycle) :
+ * mean, standard deviation, coefficient of variation and the 95% confidence interval of the mean.
+ * <br>
+ * Outliers outside the Tukey fences (1.5 x the interquartile range below the 1st or above the 3rd quartile),
+ * e.g. a cycle hit by a long GC pause, are rejected before the statistics are calculated when there are at least 4 samples.
+ * <br>
+ * {@link #isDifferenceSignificant(SampleStats, SampleStats)} runs the Welch's t-test to tell whether the difference
+ * of the means of two lists is real or just noise.
+ */
+
+public class SampleStats {
+    static final int MIN_SAMPLES_FOR_OUTLIERS = 4;
+    // two-sided 95% critical values of the Student's t-distribution for 1 to 30 degrees of freedom
+    private static final double[] T_TABLE_95 = {12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+    private final int count;
+    private final int outliers;
+    private final double mean;
+    private final double variance;      // sample variance
+
+    private SampleStats(int count, int outliers, double mean, double variance) {
+        this.count = count;
+        this.outliers = outliers;
+        this.mean = mean;
+        this.variance = variance;
+    }
+
+    public static SampleStats of(double[] samples) {
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        double lowFence = Double.NEGATIVE_INFINITY;
+        double highFence = Double.POSITIVE_INFINITY;
+        if (sorted.length >= MIN_SAMPLES_FOR_OUTLIERS) {
+            double q1 = getQuantile(sorted, 0.25);
+            double q3 = getQuantile(sorted, 0.75);
+            lowFence = q1 - 1.5 * (q3 - q1);
+            highFence = q3 + 1.5 * (q3 - q1);
+        }
+        int count = 0;
+        double sum = 0;
+        for (double sample : sorted) {
+            if (sample >= lowFence && sample <= highFence) {
+                count++;
+                sum += sample;
+            }
+        }
+        double mean = count == 0 ? 0 : sum / count;
+        double squares = 0;
+        for (double sample : sorted) {
+            if (sample >= lowFence && sample <= highFence) {
+                squares += (sample - mean) * (sample - mean);
+            }
+        }
+        return new SampleStats(count, sorted.length - count, mean, count < 2 ? 0 : squares / (count - 1));
+    }
+
+    // linear interpolation between the closest ranks
+    static double getQuantile(double[] sorted, double quantile) {
+        double position = quantile * (sorted.length - 1);
+        int lower = (int) Math.floor(position);
+        int upper = (int) Math.ceil(position);
+        return sorted[lower] + (sorted[upper] - sorted[lower]) * (position - lower);
+    }
+
+    /**
+     * @return the number of samples the statistics are calculated from, without the outliers
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public int getOutliers() {
+        return outliers;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(variance);
+    }
+
+    /**
+     * @return the standard deviation relative to the mean, e.g. 0.05 for 5%
+     */
+    public double getCoefficientOfVariation() {
+        return mean == 0 ? 0 : getStandardDeviation() / mean;
+    }
+
+    /**
+     * @return the half-width of the 95% confidence interval of the mean (mean +/- the value), 0 for less than 2 samples
+     */
+    public double getConfidenceInterval95() {
+        return count < 2 ? 0 : getTCritical95(count - 1) * Math.sqrt(variance / count);
+    }
+
+    /**
+     * Welch's t-test of the means of two samples with possibly different variances, two-sided at the 95% level.
+     *
+     * @return false also when any of the samples has less than 2 values, so the test can not be done
+     */
+    public static boolean isDifferenceSignificant(SampleStats stats1, SampleStats stats2) {
+        if (stats1.count < 2 || stats2.count < 2) {
+            return false;
+        }
+        double standardError = getStandardError(stats1, stats2);
+        if (standardError == 0) {
+            return stats1.mean != stats2.mean;
+        }
+        return Math.abs(getWelchT(stats1, stats2)) > getTCritical95((int) Math.floor(getWelchDegreesOfFreedom(stats1, stats2)));
+    }
+
+    static double getWelchT(SampleStats stats1, SampleStats stats2) {
+        return (stats1.mean - stats2.mean) / getStandardError(stats1, stats2);
+    }
+
+    // Welch-Satterthwaite equation
+    static double getWelchDegreesOfFreedom(SampleStats stats1, SampleStats stats2) {
+        double variance1 = stats1.variance / stats1.count;
+        double variance2 = stats2.variance / stats2.count;
+        return (variance1 + variance2) * (variance1 + variance2)
+                / (variance1 * variance1 / (stats1.count - 1) + variance2 * variance2 / (stats2.count - 1));
+    }
+
+    private static double getStandardError(SampleStats stats1, SampleStats stats2) {
+        return Math.sqrt(stats1.variance / stats1.count + stats2.variance / stats2.count);
+    }
+
+    static double getTCritical95(int degreesOfFreedom) {
+        if (degreesOfFreedom < 1) {
+            return Double.POSITIVE_INFINITY;
+        } else if (degreesOfFreedom <= T_TABLE_95.length) {
+            return T_TABLE_95[degreesOfFreedom - 1];
+        } else if (degreesOfFreedom < 40) {      // NOTE, the value of the closest lower tabulated degrees of freedom
+            return 2.042;
+        } else if (degreesOfFreedom < 60) {
+            return 2.021;
+        } else if (degreesOfFreedom < 120) {
+            return 2.000;
+        }
+        return 1.980;
+    }
+}
@@ -0,0 +1,61 @@
+package sv.projects.listperfcomp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampleStatsTest {
+
+    @Test
+    void testMeanAndDeviation() {
+        SampleStats stats = SampleStats.of(new double[]{1, 2, 3, 4, 5});
+        assertEquals(5, stats.getCount());
+        assertEquals(0, stats.getOutliers());
+        assertEquals(3.0, stats.getMean(), 1e-9);
+        assertEquals(Math.sqrt(2.5), stats.getStandardDeviation(), 1e-9);
+        assertEquals(stats.getStandardDeviation() / 3, stats.getCoefficientOfVariation(), 1e-9);
+        // t(4) = 2.776
+        assertEquals(2.776 * Math.sqrt(2.5 / 5), stats.getConfidenceInterval95(), 1e-9);
+    }
+
+    @Test
+    void testOutlierRejected() {
+        SampleStats stats = SampleStats.of(new double[]{100, 101, 99, 100, 102, 20});
+        assertEquals(1, stats.getOutliers());
+        assertEquals(5, stats.getCount());
+        assertEquals(100.4, stats.getMean(), 1e-9);
+    }
+
+    @Test
+    void testOneSample_NoInterval() {
+        SampleStats stats = SampleStats.of(new double[]{42});
+        assertEquals(42.0, stats.getMean(), 1e-9);
+        assertEquals(0.0, stats.getStandardDeviation(), 1e-9);
+        assertEquals(0.0, stats.getConfidenceInterval95(), 1e-9);
+    }
+
+    @Test
+    void testDifferenceSignificant() {
+        SampleStats fast = SampleStats.of(new double[]{200, 205, 198, 202, 201});
+        SampleStats slow = SampleStats.of(new double[]{100, 104, 97, 101, 99});
+        assertTrue(SampleStats.isDifferenceSignificant(fast, slow));
+        assertTrue(SampleStats.isDifferenceSignificant(slow, fast));
+    }
+
+    @Test
+    void testDifferenceNotSignificant_Noise() {
+        SampleStats stats1 = SampleStats.of(new double[]{100, 140, 80, 120, 95});
+        SampleStats stats2 = SampleStats.of(new double[]{105, 90, 130, 85, 115});
+        assertFalse(SampleStats.isDifferenceSignificant(stats1, stats2));
+        assertFalse(SampleStats.isDifferenceSignificant(SampleStats.of(new double[]{1}), SampleStats.of(new double[]{100, 101})));
+    }
+
+    @Test
+    void testWelchDegreesOfFreedom() {
+        SampleStats stats1 = SampleStats.of(new double[]{1, 2, 3});
+        SampleStats stats2 = SampleStats.of(new double[]{1, 2, 3});
+        assertEquals(4.0, SampleStats.getWelchDegreesOfFreedom(stats1, stats2), 1e-9);
+        assertEquals(2.776, SampleStats.getTCritical95(4), 1e-9);
+        assertEquals(1.980, SampleStats.getTCritical95(500), 1e-9);
+    }
+}
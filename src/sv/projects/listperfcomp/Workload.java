@@ -0,0 +1,328 @@
+package sv.projects.listperfcomp;
+
+import java.util.Arrays;
+
+/**
+ * A workload definition for the List Performance Comparator (see {@link PerformanceComparator}) :
+ * <ul>
+ * <li>the operation mix - a weight of each {@link Operation}</li>
+ * <li>the key distribution - how the indices (and values) of the operations are chosen</li>
+ * <li>the key ranges - each thread uses the keys of its own range of the list, or all the threads share
+ * the keys of the whole list</li>
+ * <li>the access mode - one element at a time, or batches of consecutive elements read by <code>subList()</code>,
+ * <code>toArray()</code>, an iterator or <code>forEach()</code> (see {@link AccessMode})</li>
+ * <li>the partitioning - how the keys are divided among the threads, to diagnose the contention (see {@link Partitioning})</li>
+ * </ul>
+ * Every thread performs as many operations as there are elements in its range of the list.
+ * The operations are spread evenly according to their weights (smooth weighted round-robin),
+ * so no random choice is needed per operation.
+ */
+
+public class Workload {
+    static final int BULK_SIZE = 64;        // elements per iterate() and addAll() operation
+
+    public enum Operation {
+        GET("get()", false),
+        ADD("add()", true),
+        SET("set()", true),
+        REMOVE_HEAD("remove(0)", true),
+        CONTAINS("contains()", false),
+        ITERATE("iterate(" + BULK_SIZE + ")", false),
+        ADD_ALL("addAll(" + BULK_SIZE + ")", true),
+        INSERT("add(i)", true),
+        REMOVE("remove(i)", true);
+
+        private final String name;
+        private final boolean mutating;
+
+        Operation(String operationName, boolean mutating) {
+            this.name = operationName;
+            this.mutating = mutating;
+        }
+
+        public boolean isMutating() {
+            return mutating;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+
+    public enum KeyDistribution {
+        SEQUENTIAL, UNIFORM, ZIPFIAN
+    }
+
+    /**
+     * How the keys of the operations are divided among the threads of a list :
+     * <ul>
+     * <li>contiguous - each thread uses the keys of its own range, or of the whole list (see {@link #isPerThreadRanges()}),
+     * by the key distribution</li>
+     * <li>interleaved - thread <code>t</code> of <code>n</code> uses the keys <code>t, t + n, t + 2n, ...</code>, so the threads
+     * touch adjacent elements (the same cache lines) at the same time</li>
+     * <li>random - every thread uses uniformly random keys of the whole list</li>
+     * <li>hot index - all the threads use the same key, the middle of the list</li>
+     * </ul>
+     * The partitionings other than contiguous ignore the key distribution.
+     */
+    public enum Partitioning {
+        CONTIGUOUS("contiguous"),
+        INTERLEAVED("interleaved"),
+        RANDOM("random"),
+        HOT_INDEX("hot index");
+
+        private final String name;
+
+        Partitioning(String partitioningName) {
+            this.name = partitioningName;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+
+    /**
+     * The batched access modes perform every operation on a batch of consecutive elements by one bulk call :
+     * the reads (<code>get()</code>, <code>iterate()</code>) by the mode, <code>add()</code> by <code>addAll()</code>,
+     * <code>add(i)</code> by <code>addAll(i, batch)</code>, <code>set()</code> by <code>subList().replaceAll()</code>,
+     * the removes by <code>subList().clear()</code> and <code>contains()</code> by <code>containsAll()</code>.
+     * Each element of a batch actually performed counts as one operation, so the throughput compares with the element access.
+     */
+    public enum AccessMode {
+        ELEMENT("element"),
+        SUB_LIST("subList()"),
+        TO_ARRAY("toArray()"),
+        ITERATOR("iterator()"),
+        FOR_EACH("forEach()");
+
+        private final String name;
+
+        AccessMode(String modeName) {
+            this.name = modeName;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+
+    private final String name;
+    private final int[] weights;            // by Operation ordinal
+    private final KeyDistribution keyDistribution;
+    private final boolean perThreadRanges;
+    private final AccessMode accessMode;
+    private final int batchSize;            // 1 for the element access
+    private final Partitioning partitioning;
+    private final Operation[] schedule;
+
+    private Workload(String name, int[] weights, KeyDistribution keyDistribution, boolean perThreadRanges,
+                     AccessMode accessMode, int batchSize, Partitioning partitioning) {
+        this.name = name;
+        this.weights = weights;
+        this.keyDistribution = keyDistribution;
+        this.perThreadRanges = perThreadRanges;
+        this.accessMode = accessMode;
+        this.batchSize = accessMode == AccessMode.ELEMENT ? 1 : batchSize;
+        this.partitioning = partitioning;
+        this.schedule = buildSchedule(weights);
+    }
+
+    /**
+     * @return the same workload in the batched access mode, named e.g. "get() forEach() x64", or this workload for the element access
+     */
+    public Workload withBatch(AccessMode accessMode, int batchSize) {
+        if (accessMode == AccessMode.ELEMENT) {
+            return this;
+        }
+        checkBatchSize(batchSize);
+        return new Workload(name + " " + accessMode + " x" + batchSize, weights, keyDistribution, perThreadRanges, accessMode, batchSize,
+                partitioning);
+    }
+
+    /**
+     * @return the same workload with the keys divided among the threads by the partitioning, named e.g. "get() interleaved",
+     * or this workload for the contiguous ranges
+     */
+    public Workload withPartitioning(Partitioning partitioning) {
+        if (partitioning == Partitioning.CONTIGUOUS) {
+            return this;
+        }
+        return new Workload(name + " " + partitioning, weights, keyDistribution, perThreadRanges, accessMode, batchSize, partitioning);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWeight(Operation operation) {
+        return weights[operation.ordinal()];
+    }
+
+    public KeyDistribution getKeyDistribution() {
+        return keyDistribution;
+    }
+
+    public boolean isPerThreadRanges() {
+        return perThreadRanges;
+    }
+
+    public AccessMode getAccessMode() {
+        return accessMode;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public boolean isBatched() {
+        return accessMode != AccessMode.ELEMENT;
+    }
+
+    public Partitioning getPartitioning() {
+        return partitioning;
+    }
+
+    /**
+     * @return true if the workload changes the list, so the list must be reset after the test
+     */
+    public boolean isMutating() {
+        for (Operation operation : Operation.values()) {
+            if (operation.isMutating() && getWeight(operation) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the workload removes elements, so the keys must be limited by the current list size
+     */
+    public boolean isShrinking() {
+        return getWeight(Operation.REMOVE_HEAD) > 0 || getWeight(Operation.REMOVE) > 0;
+    }
+
+    /**
+     * @return the operations of one round, each operation is present as many times as its (reduced) weight
+     */
+    Operation[] getSchedule() {
+        return schedule;
+    }
+
+    /**
+     * @return the operation mix, distribution and ranges, e.g. "get() 95 | add() 5 | ZIPFIAN keys, per-thread ranges"
+     */
+    public String getDescription() {
+        StringBuilder description = new StringBuilder();
+        for (Operation operation : Operation.values()) {
+            if (getWeight(operation) > 0) {
+                description.append(operation).append(' ').append(getWeight(operation)).append(" | ");
+            }
+        }
+        description.append(keyDistribution).append(" keys, ").append(perThreadRanges ? "per-thread" : "shared").append(" ranges");
+        if (isBatched()) {
+            description.append(" | ").append(accessMode).append(" batches of ").append(batchSize);
+        }
+        if (partitioning != Partitioning.CONTIGUOUS) {
+            description.append(" | ").append(partitioning).append(" partitioning");
+        }
+        return description.toString();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static Operation[] buildSchedule(int[] weights) {
+        int gcd = 0;
+        for (int weight : weights) {
+            gcd = getGcd(gcd, weight);
+        }
+        int[] reduced = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            reduced[i] = weights[i] / gcd;
+            total += reduced[i];
+        }
+        Operation[] schedule = new Operation[total];
+        int[] current = new int[weights.length];
+        for (int slot = 0; slot < total; slot++) {
+            int selected = 0;
+            for (int i = 0; i < weights.length; i++) {
+                current[i] += reduced[i];
+                if (current[i] > current[selected]) {
+                    selected = i;
+                }
+            }
+            current[selected] -= total;
+            schedule[slot] = Operation.values()[selected];
+        }
+        return schedule;
+    }
+
+    private static void checkBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Incorrect batch size " + batchSize);
+        }
+    }
+
+    private static int getGcd(int a, int b) {
+        return b == 0 ? a : getGcd(b, a % b);
+    }
+
+    /**
+     * Builds a workload, e.g. <code>new Workload.Builder("read-mostly").operation(GET, 95).operation(ADD, 5).build()</code>.
+     * The default key distribution is {@link KeyDistribution#SEQUENTIAL} with per-thread ranges and the element access.
+     */
+    public static class Builder {
+        private final String name;
+        private final int[] weights = new int[Operation.values().length];
+        private KeyDistribution keyDistribution = KeyDistribution.SEQUENTIAL;
+        private boolean perThreadRanges = true;
+        private AccessMode accessMode = AccessMode.ELEMENT;
+        private int batchSize = 1;
+
+        public Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder operation(Operation operation, int weight) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight of " + operation + ": " + weight);
+            }
+            weights[operation.ordinal()] = weight;
+            return this;
+        }
+
+        public Builder keyDistribution(KeyDistribution keyDistribution) {
+            this.keyDistribution = keyDistribution;
+            return this;
+        }
+
+        public Builder perThreadRanges(boolean perThreadRanges) {
+            this.perThreadRanges = perThreadRanges;
+            return this;
+        }
+
+        /**
+         * @param batchSize consecutive elements per bulk call, ignored for the element access
+         */
+        public Builder batch(AccessMode accessMode, int batchSize) {
+            checkBatchSize(batchSize);
+            this.accessMode = accessMode;
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Workload build() {
+            if (Arrays.stream(weights).sum() == 0) {
+                throw new IllegalArgumentException("The workload " + name + " has no operation");
+            }
+            return new Workload(name, weights.clone(), keyDistribution, perThreadRanges, accessMode, batchSize, Partitioning.CONTIGUOUS);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package sv.projects.listperfcomp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadTest {
+
+    @Test
+    void testSchedule_SpreadsOperationsEvenly() {
+        Workload workload = new Workload.Builder("mixed").operation(Workload.Operation.GET, 95)
+                .operation(Workload.Operation.ADD, 5).build();
+        Workload.Operation[] schedule = workload.getSchedule();
+        assertEquals(20, schedule.length);
+        int adds = 0;
+        for (Workload.Operation operation : schedule) {
+            if (operation == Workload.Operation.ADD) {
+                adds++;
+            }
+        }
+        assertEquals(1, adds);
+        assertTrue(workload.isMutating());
+        assertFalse(workload.isShrinking());
+    }
+
+    @Test
+    void testReadOnlyWorkload() {
+        Workload workload = PerformanceComparator.Action.HOT_SPOT_ACCESS.toWorkload();
+        assertFalse(workload.isMutating());
+        assertFalse(workload.isPerThreadRanges());
+        assertEquals(Workload.KeyDistribution.ZIPFIAN, workload.getKeyDistribution());
+        assertEquals("get() 1 | ZIPFIAN keys, shared ranges", workload.getDescription());
+    }
+
+    @Test
+    void testRemoveAtIndex_Shrinking() {
+        Workload workload = PerformanceComparator.Action.INSERT_REMOVE_MIX.toWorkload();
+        assertTrue(workload.isMutating());
+        assertTrue(workload.isShrinking());
+        assertEquals(50, workload.getWeight(Workload.Operation.GET));
+        assertEquals(25, workload.getWeight(Workload.Operation.INSERT));
+        assertFalse(PerformanceComparator.Action.INSERT_MEMBER.toWorkload().isShrinking());
+    }
+
+    @Test
+    void testWithBatch() {
+        Workload workload = PerformanceComparator.Action.ACCESS_MEMBER.toWorkload();
+        assertSame(workload, workload.withBatch(Workload.AccessMode.ELEMENT, 64));
+        assertEquals(1, workload.getBatchSize());
+        Workload batched = workload.withBatch(Workload.AccessMode.TO_ARRAY, 32);
+        assertTrue(batched.isBatched());
+        assertEquals(32, batched.getBatchSize());
+        assertEquals("get() toArray() x32", batched.getName());
+        assertEquals("get() 1 | SEQUENTIAL keys, per-thread ranges | toArray() batches of 32", batched.getDescription());
+        assertThrows(IllegalArgumentException.class, () -> workload.withBatch(Workload.AccessMode.FOR_EACH, 0));
+    }
+
+    @Test
+    void testWithPartitioning() {
+        Workload workload = PerformanceComparator.Action.ACCESS_MEMBER.toWorkload();
+        assertSame(workload, workload.withPartitioning(Workload.Partitioning.CONTIGUOUS));
+        assertEquals(Workload.Partitioning.CONTIGUOUS, workload.getPartitioning());
+        Workload hot = workload.withBatch(Workload.AccessMode.FOR_EACH, 16).withPartitioning(Workload.Partitioning.HOT_INDEX);
+        assertEquals(Workload.Partitioning.HOT_INDEX, hot.getPartitioning());
+        assertEquals(Workload.AccessMode.FOR_EACH, hot.getAccessMode());
+        assertEquals("get() forEach() x16 hot index", hot.getName());
+        assertEquals("get() 1 | SEQUENTIAL keys, per-thread ranges | forEach() batches of 16 | hot index partitioning", hot.getDescription());
+    }
+
+    @Test
+    void testBuild_NoOperation_NEG() {
+        assertThrows(IllegalArgumentException.class, () -> new Workload.Builder("empty").build());
+        assertThrows(IllegalArgumentException.class, () -> new Workload.Builder("negative").operation(Workload.Operation.GET, -1));
+    }
+
+    @Test
+    void testZipfianGenerator_HotSpot() {
+        ZipfianGenerator generator = new ZipfianGenerator(1000);
+        int hot = 0;
+        for (int i = 0; i < 10_000; i++) {
+            int rank = generator.next(i / 10_000.0);
+            assertTrue(rank >= 0 && rank < 1000);
+            if (rank < 10) {
+                hot++;
+            }
+        }
+        assertTrue(hot > 3_000, "hot: " + hot);
+    }
+}
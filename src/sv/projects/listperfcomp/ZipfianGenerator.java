@@ -0,0 +1,49 @@
+package sv.projects.listperfcomp;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generates ranks from 0 (the hottest) to n-1 with a Zipfian distribution (theta 0.99),
+ * using the algorithm of Gray et al. "Quickly generating billion-record synthetic databases".
+ * The zeta constant is computed once per n and cached, so a generator is cheap to create.
+ */
+
+class ZipfianGenerator {
+    private static final double THETA = 0.99;
+    private static final Map<Integer, Double> ZETA_CACHE = new ConcurrentHashMap<>();
+
+    private final int n;
+    private final double zetaN;
+    private final double alpha;
+    private final double eta;
+
+    ZipfianGenerator(int n) {
+        this.n = n;
+        this.zetaN = ZETA_CACHE.computeIfAbsent(n, ZipfianGenerator::zeta);
+        this.alpha = 1.0 / (1.0 - THETA);
+        this.eta = (1 - Math.pow(2.0 / n, 1 - THETA)) / (1 - zeta(2) / zetaN);
+    }
+
+    /**
+     * @param uniform a uniformly distributed random value from 0 (included) to 1 (excluded)
+     */
+    int next(double uniform) {
+        double uz = uniform * zetaN;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < 1.0 + Math.pow(0.5, THETA)) {
+            return Math.min(1, n - 1);
+        }
+        return Math.min((int) (n * Math.pow(eta * uniform - eta + 1, alpha)), n - 1);
+    }
+
+    private static double zeta(int n) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, THETA);
+        }
+        return sum;
+    }
+}
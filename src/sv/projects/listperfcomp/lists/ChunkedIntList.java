@@ -0,0 +1,221 @@
+package sv.projects.listperfcomp.lists;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * An unrolled list of <code>int</code>s - an alternative to <code>LinkedList</code> with cheap inserts and removes
+ * in the middle of the list, without its pointer chasing.
+ * <br>
+ * The elements are stored in chunks of up to {@value #CHUNK_CAPACITY} contiguous <code>int</code>s, a chunk fits into the L1 cache.
+ * A Fenwick tree (binary indexed tree) over the chunk sizes finds the chunk of an index in <code>O(log chunks)</code>,
+ * so <code>get()</code> and <code>set()</code> do not walk the list. An insert or a remove shifts the elements of one chunk only;
+ * a full chunk is split in two halves, an empty chunk is dropped and the tree is rebuilt then in <code>O(chunks)</code>.
+ * Not thread-safe.
+ */
+
+public class ChunkedIntList extends AbstractList<Integer> implements IntList {
+    static final int CHUNK_CAPACITY = 512;
+    private static final int DEFAULT_CHUNKS = 4;
+
+    private int[][] chunks = new int[DEFAULT_CHUNKS][];
+    private int[] chunkSizes = new int[DEFAULT_CHUNKS];
+    private int[] tree = new int[DEFAULT_CHUNKS + 1];       // Fenwick tree of the chunk sizes, 1-based
+    private int chunkCount;
+    private int size;
+    // the position found by the last locate(), [chunk, offset within the chunk]
+    private int locatedChunk;
+    private int locatedOffset;
+
+    @Override
+    public int getInt(int index) {
+        IntArrayList.checkIndex(index, size);
+        locate(index);
+        return chunks[locatedChunk][locatedOffset];
+    }
+
+    @Override
+    public boolean addInt(int value) {
+        if (chunkCount == 0 || chunkSizes[chunkCount - 1] == CHUNK_CAPACITY) {
+            appendChunk();
+        }
+        int last = chunkCount - 1;
+        chunks[last][chunkSizes[last]++] = value;
+        updateTree(last, 1);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean addAllInts(int[] values) {
+        int copied = 0;
+        while (copied < values.length) {
+            if (chunkCount == 0 || chunkSizes[chunkCount - 1] == CHUNK_CAPACITY) {
+                appendChunk();
+            }
+            int last = chunkCount - 1;
+            int length = Math.min(values.length - copied, CHUNK_CAPACITY - chunkSizes[last]);
+            System.arraycopy(values, copied, chunks[last], chunkSizes[last], length);
+            chunkSizes[last] += length;
+            copied += length;
+        }
+        size += values.length;
+        buildTree();
+        modCount++;
+        return values.length != 0;
+    }
+
+    @Override
+    public int setInt(int index, int value) {
+        IntArrayList.checkIndex(index, size);
+        locate(index);
+        int previous = chunks[locatedChunk][locatedOffset];
+        chunks[locatedChunk][locatedOffset] = value;
+        return previous;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer element) {
+        return setInt(index, element);
+    }
+
+    @Override
+    public boolean add(Integer element) {
+        return addInt(element);
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+        IntArrayList.checkIndex(index, size + 1);
+        if (index == size) {
+            addInt(element);
+            return;
+        }
+        locate(index);
+        if (chunkSizes[locatedChunk] == CHUNK_CAPACITY) {
+            splitChunk(locatedChunk);
+            locate(index);
+        }
+        int[] chunk = chunks[locatedChunk];
+        System.arraycopy(chunk, locatedOffset, chunk, locatedOffset + 1, chunkSizes[locatedChunk] - locatedOffset);
+        chunk[locatedOffset] = element;
+        chunkSizes[locatedChunk]++;
+        updateTree(locatedChunk, 1);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Integer remove(int index) {
+        IntArrayList.checkIndex(index, size);
+        locate(index);
+        int[] chunk = chunks[locatedChunk];
+        int previous = chunk[locatedOffset];
+        System.arraycopy(chunk, locatedOffset + 1, chunk, locatedOffset, chunkSizes[locatedChunk] - locatedOffset - 1);
+        chunkSizes[locatedChunk]--;
+        if (chunkSizes[locatedChunk] == 0) {
+            removeChunk(locatedChunk);
+        } else {
+            updateTree(locatedChunk, -1);
+        }
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(chunks, 0, chunkCount, null);
+        Arrays.fill(chunkSizes, 0, chunkCount, 0);
+        Arrays.fill(tree, 0);
+        chunkCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    int getChunkCount() {
+        return chunkCount;
+    }
+
+    // descends the Fenwick tree to the chunk holding the index
+    private void locate(int index) {
+        int chunk = 0;
+        int remaining = index;
+        for (int step = Integer.highestOneBit(chunkCount); step > 0; step >>= 1) {
+            int next = chunk + step;
+            if (next <= chunkCount && tree[next] <= remaining) {
+                chunk = next;
+                remaining -= tree[next];
+            }
+        }
+        locatedChunk = chunk;
+        locatedOffset = remaining;
+    }
+
+    private void updateTree(int chunk, int delta) {
+        for (int i = chunk + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // over the whole tree, so an appended chunk finds the sums of the chunks below it
+    private void buildTree() {
+        Arrays.fill(tree, 0);
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += chunkSizes[i - 1];
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private void appendChunk() {
+        ensureChunkCapacity();
+        chunks[chunkCount++] = new int[CHUNK_CAPACITY];
+    }
+
+    private void splitChunk(int chunk) {
+        ensureChunkCapacity();
+        System.arraycopy(chunks, chunk + 1, chunks, chunk + 2, chunkCount - chunk - 1);
+        System.arraycopy(chunkSizes, chunk + 1, chunkSizes, chunk + 2, chunkCount - chunk - 1);
+        int half = chunkSizes[chunk] / 2;
+        int[] upperHalf = new int[CHUNK_CAPACITY];
+        System.arraycopy(chunks[chunk], half, upperHalf, 0, chunkSizes[chunk] - half);
+        chunks[chunk + 1] = upperHalf;
+        chunkSizes[chunk + 1] = chunkSizes[chunk] - half;
+        chunkSizes[chunk] = half;
+        chunkCount++;
+        buildTree();
+    }
+
+    private void removeChunk(int chunk) {
+        System.arraycopy(chunks, chunk + 1, chunks, chunk, chunkCount - chunk - 1);
+        System.arraycopy(chunkSizes, chunk + 1, chunkSizes, chunk, chunkCount - chunk - 1);
+        chunkCount--;
+        chunks[chunkCount] = null;
+        chunkSizes[chunkCount] = 0;
+        buildTree();
+    }
+
+    private void ensureChunkCapacity() {
+        if (chunkCount == chunks.length) {
+            int capacity = chunks.length + (chunks.length >> 1);
+            chunks = Arrays.copyOf(chunks, capacity);
+            chunkSizes = Arrays.copyOf(chunkSizes, capacity);
+            tree = new int[capacity + 1];
+            buildTree();
+        }
+    }
+}
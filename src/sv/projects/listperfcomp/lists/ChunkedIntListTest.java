@@ -0,0 +1,89 @@
+package sv.projects.listperfcomp.lists;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedIntListTest {
+
+    @Test
+    void testInsertRemoveInMiddle_SameAsArrayList() {
+        ChunkedIntList list = new ChunkedIntList();
+        List<Integer> expected = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt();
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, value);
+                expected.add(index, value);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+        }
+        assertEquals(expected, list);
+        assertTrue(list.getChunkCount() > 1);
+    }
+
+    @Test
+    void testChunksSplitAndDropped() {
+        ChunkedIntList list = new ChunkedIntList();
+        int[] values = new int[ChunkedIntList.CHUNK_CAPACITY * 3];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        list.addAllInts(values);
+        assertEquals(3, list.getChunkCount());
+        list.add(1, -1);                // the first chunk is full - split in two halves
+        assertEquals(4, list.getChunkCount());
+        assertEquals(-1, list.getInt(1));
+        assertEquals(values.length - 1, list.getInt(values.length));
+        while (list.size() > ChunkedIntList.CHUNK_CAPACITY) {
+            list.remove(0);
+        }
+        assertEquals(1, list.getChunkCount());
+        assertEquals(ChunkedIntList.CHUNK_CAPACITY * 2, list.getInt(0));
+    }
+
+    @Test
+    void testClearAddAllThenAppend() {
+        ChunkedIntList list = new ChunkedIntList();
+        list.addAllInts(new int[ChunkedIntList.CHUNK_CAPACITY * 10]);
+        list.clear();
+        int[] values = new int[ChunkedIntList.CHUNK_CAPACITY * 5];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        list.addAllInts(values);            // as a list is restored before a test cycle
+        List<Integer> expected = new ArrayList<>();
+        for (int value : values) {
+            expected.add(value);
+        }
+        for (int i = values.length; i < ChunkedIntList.CHUNK_CAPACITY * 8; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        assertEquals(8, list.getChunkCount());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).intValue(), list.getInt(i));
+        }
+        list.add(ChunkedIntList.CHUNK_CAPACITY * 7, -1);
+        expected.add(ChunkedIntList.CHUNK_CAPACITY * 7, -1);
+        assertEquals(expected, list);
+    }
+
+    @Test
+    void testIndexOutOfBounds_NEG() {
+        ChunkedIntList list = new ChunkedIntList();
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(1, 1));
+        list.addInt(7);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.setInt(-1, 0));
+    }
+}
@@ -0,0 +1,118 @@
+package sv.projects.listperfcomp.lists;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.RandomAccess;
+
+/**
+ * A thread-safe <code>int[]</code> list that copies its array on every modification -
+ * the unboxed counterpart of <code>CopyOnWriteArrayList&lt;Integer&gt;</code>.
+ * Reads are lock-free, iterators work on a snapshot and do not support <code>remove()</code>.
+ */
+
+public class CopyOnWriteIntArrayList extends AbstractList<Integer> implements IntList, RandomAccess {
+    private final Object lock = new Object();
+    private volatile int[] elements = new int[0];
+
+    @Override
+    public int getInt(int index) {
+        int[] snapshot = elements;
+        IntArrayList.checkIndex(index, snapshot.length);
+        return snapshot[index];
+    }
+
+    @Override
+    public boolean addInt(int value) {
+        synchronized (lock) {
+            int[] current = elements;
+            int[] copy = Arrays.copyOf(current, current.length + 1);
+            copy[current.length] = value;
+            elements = copy;
+            return true;
+        }
+    }
+
+    @Override
+    public boolean addAllInts(int[] values) {
+        synchronized (lock) {
+            int[] current = elements;
+            int[] copy = Arrays.copyOf(current, current.length + values.length);
+            System.arraycopy(values, 0, copy, current.length, values.length);
+            elements = copy;
+            return values.length != 0;
+        }
+    }
+
+    @Override
+    public int setInt(int index, int value) {
+        synchronized (lock) {
+            int[] current = elements;
+            IntArrayList.checkIndex(index, current.length);
+            int previous = current[index];
+            int[] copy = current.clone();
+            copy[index] = value;
+            elements = copy;
+            return previous;
+        }
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer element) {
+        return setInt(index, element);
+    }
+
+    @Override
+    public boolean add(Integer element) {
+        return addInt(element);
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+        synchronized (lock) {
+            int[] current = elements;
+            IntArrayList.checkIndex(index, current.length + 1);
+            int[] copy = new int[current.length + 1];
+            System.arraycopy(current, 0, copy, 0, index);
+            copy[index] = element;
+            System.arraycopy(current, index, copy, index + 1, current.length - index);
+            elements = copy;
+        }
+    }
+
+    @Override
+    public Integer remove(int index) {
+        synchronized (lock) {
+            int[] current = elements;
+            IntArrayList.checkIndex(index, current.length);
+            int previous = current[index];
+            int[] copy = new int[current.length - 1];
+            System.arraycopy(current, 0, copy, 0, index);
+            System.arraycopy(current, index + 1, copy, index, current.length - index - 1);
+            elements = copy;
+            return previous;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            elements = new int[0];
+        }
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return Arrays.stream(elements).iterator();
+    }
+}
@@ -0,0 +1,23 @@
+package sv.projects.listperfcomp.lists;
+
+import java.util.List;
+
+/**
+ * A <code>List&lt;Integer&gt;</code> backed by primitive <code>int</code> storage.
+ * The comparator (see {@link sv.projects.listperfcomp.ListRunner}) uses the unboxed methods
+ * to access such lists, so neither <code>get()</code> nor <code>add()</code> allocate an <code>Integer</code>.
+ */
+
+public interface IntList extends List<Integer> {
+
+    int getInt(int index);
+
+    boolean addInt(int value);
+
+    int setInt(int index, int value);
+
+    /**
+     * Appends all the values at once, e.g. with a single array copy instead of one copy per value.
+     */
+    boolean addAllInts(int[] values);
+}
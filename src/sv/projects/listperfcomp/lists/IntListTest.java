@@ -0,0 +1,98 @@
+package sv.projects.listperfcomp.lists;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntListTest {
+
+    private static List<IntList> newIntLists() {
+        return Arrays.asList(new IntArrayList(), new StripedIntArrayList(), new CopyOnWriteIntArrayList(), new OffHeapIntList(),
+                new ChunkedIntList());
+    }
+
+    @Test
+    void testAddGetSet() {
+        for (IntList list : newIntLists()) {
+            for (int i = 0; i < 2000; i++) {
+                list.addInt(i);
+            }
+            assertEquals(2000, list.size());
+            assertEquals(1500, list.getInt(1500));
+            assertEquals(1500, list.setInt(1500, -1));
+            assertEquals(Integer.valueOf(-1), list.get(1500));
+        }
+    }
+
+    @Test
+    void testInsertRemoveClear() {
+        for (IntList list : newIntLists()) {
+            list.addAll(Arrays.asList(1, 2, 3));
+            list.add(1, 9);
+            assertEquals("[1, 9, 2, 3]", list.toString());
+            assertEquals(Integer.valueOf(1), list.remove(0));
+            assertEquals(new ArrayList<>(Arrays.asList(9, 2, 3)), list);
+            list.clear();
+            assertTrue(list.isEmpty());
+        }
+    }
+
+    @Test
+    void testAddAllInts() {
+        int[] values = new int[70_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        for (IntList list : newIntLists()) {
+            list.addInt(-1);
+            assertTrue(list.addAllInts(values));
+            assertEquals(70_001, list.size());
+            assertEquals(-1, list.getInt(0));
+            assertEquals(65_536, list.getInt(65_537));
+            assertEquals(69_999, list.getInt(70_000));
+            assertFalse(list.addAllInts(new int[0]));
+        }
+    }
+
+    @Test
+    void testGet_OutOfBounds_NEG() {
+        for (IntList list : newIntLists()) {
+            list.addInt(1);
+            assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(1));
+        }
+    }
+
+    @Test
+    void testOffHeapList_GrowsBySegments() {
+        OffHeapIntList list = new OffHeapIntList();
+        for (int i = 0; i < 100_000; i++) {
+            list.addInt(i);
+        }
+        assertEquals(99_999, list.getInt(99_999));
+        assertEquals(2L * 65536 * Integer.BYTES, list.getOffHeapBytes());
+    }
+
+    @Test
+    void testConcurrentAppends() throws InterruptedException {
+        for (IntList list : Arrays.<IntList>asList(new StripedIntArrayList(), new CopyOnWriteIntArrayList(), new OffHeapIntList())) {
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        list.addInt(1);
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(4000, list.size());
+            assertEquals(4000, list.stream().mapToInt(Integer::intValue).sum());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package sv.projects.listperfcomp.lists;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock-free, append-only concurrent list for the write-heavy <code>add()</code> workload.
+ * <br>
+ * Elements are stored in segments of doubling size (64, 128, 256, ...), so existing segments are never copied.
+ * An <code>add()</code> claims its slot by a CAS increment of the tail index, installs a missing segment
+ * by CAS and publishes the element with a volatile write. <code>get()</code> of a published index is wait-free;
+ * an index that is claimed but not yet written is awaited by a short spin.
+ * <br>
+ * Only appending is supported: <code>add(index, e)</code> works for <code>index == size()</code> only,
+ * removing throws <code>UnsupportedOperationException</code>. <code>null</code> elements are not permitted.
+ * <code>clear()</code> must not run concurrently with <code>add()</code>.
+ */
+
+public class LockFreeAppendList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int FIRST_SEGMENT_BITS = 6;
+    private static final int MAX_SEGMENTS = 32 - FIRST_SEGMENT_BITS;
+    static final int MAX_INDEX = Integer.MAX_VALUE - (1 << FIRST_SEGMENT_BITS);
+
+    private volatile Storage<E> storage = new Storage<>();
+
+    private static final class Storage<E> {
+        private final AtomicInteger tail = new AtomicInteger();
+        private final AtomicReferenceArray<AtomicReferenceArray<E>> segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+    }
+
+    @Override
+    public boolean add(E element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        Storage<E> current = storage;
+        int index = claimIndex(current.tail);
+        getOrCreateSegment(current, segmentOf(index)).set(offsetOf(index), element);
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index != size()) {
+            throw new UnsupportedOperationException("Only appending is supported, index: " + index + ", size: " + size());
+        }
+        add(element);
+    }
+
+    @Override
+    public E get(int index) {
+        Storage<E> current = storage;
+        IntArrayList.checkIndex(index, current.tail.get());
+        AtomicReferenceArray<E> segment;
+        E element;
+        while ((segment = current.segments.get(segmentOf(index))) == null || (element = segment.get(offsetOf(index))) == null) {
+            Thread.onSpinWait();        // NOTE, the slot is claimed but the element is not published yet
+        }
+        return element;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        get(index);                     // NOTE, waits for the element to be published
+        return storage.segments.get(segmentOf(index)).getAndSet(offsetOf(index), element);
+    }
+
+    @Override
+    public void clear() {
+        storage = new Storage<>();
+    }
+
+    @Override
+    public int size() {
+        return storage.tail.get();
+    }
+
+    // NOTE, a full list leaves the tail unchanged, so get() never awaits a slot that is claimed but never written
+    static int claimIndex(AtomicInteger tail) {
+        int index;
+        do {
+            index = tail.get();
+            if (index > MAX_INDEX) {
+                throw new IllegalStateException("List capacity exceeded");
+            }
+        } while (!tail.compareAndSet(index, index + 1));
+        return index;
+    }
+
+    private static <E> AtomicReferenceArray<E> getOrCreateSegment(Storage<E> storage, int segmentIndex) {
+        AtomicReferenceArray<E> segment = storage.segments.get(segmentIndex);
+        if (segment == null) {
+            storage.segments.compareAndSet(segmentIndex, null, new AtomicReferenceArray<>(1 << (segmentIndex + FIRST_SEGMENT_BITS)));
+            segment = storage.segments.get(segmentIndex);
+        }
+        return segment;
+    }
+
+    // the segment k holds the indices from 2^(k+6) - 64 to 2^(k+7) - 65
+    private static int segmentOf(int index) {
+        return (31 - Integer.numberOfLeadingZeros(index + (1 << FIRST_SEGMENT_BITS))) - FIRST_SEGMENT_BITS;
+    }
+
+    private static int offsetOf(int index) {
+        int shifted = index + (1 << FIRST_SEGMENT_BITS);
+        return shifted - Integer.highestOneBit(shifted);
+    }
+}
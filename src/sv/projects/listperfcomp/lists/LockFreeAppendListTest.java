@@ -0,0 +1,65 @@
+package sv.projects.listperfcomp.lists;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockFreeAppendListTest {
+
+    @Test
+    void testAppendGetSet() {
+        List<Integer> list = new LockFreeAppendList<>();
+        for (int i = 0; i < 10_000; i++) {
+            list.add(i, i);
+        }
+        assertEquals(10_000, list.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, list.get(i).intValue());
+        }
+        assertEquals(Integer.valueOf(63), list.set(63, -1));
+        assertEquals(Integer.valueOf(-1), list.get(63));
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    void testUnsupportedOperations_NEG() {
+        List<Integer> list = new LockFreeAppendList<>();
+        list.add(1);
+        assertThrows(UnsupportedOperationException.class, () -> list.add(0, 2));
+        assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+        assertThrows(NullPointerException.class, () -> list.add(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+    }
+
+    @Test
+    void testClaimIndex_CapacityExceeded_NEG() {
+        AtomicInteger tail = new AtomicInteger(LockFreeAppendList.MAX_INDEX);
+        assertEquals(LockFreeAppendList.MAX_INDEX, LockFreeAppendList.claimIndex(tail));
+        assertThrows(IllegalStateException.class, () -> LockFreeAppendList.claimIndex(tail));
+        assertEquals(LockFreeAppendList.MAX_INDEX + 1, tail.get());
+    }
+
+    @Test
+    void testConcurrentAppends() throws InterruptedException {
+        List<Integer> list = new LockFreeAppendList<>();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    list.add(1);
+                    list.get(list.size() - 1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80_000, list.size());
+        assertEquals(80_000, list.stream().mapToInt(Integer::intValue).sum());
+    }
+}
@@ -0,0 +1,111 @@
+package sv.projects.listperfcomp.lists;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockGuardedListTest {
+
+    private static List<List<Integer>> newLists() {
+        return Arrays.asList(new ReadWriteLockList<>(), new StampedLockList<>());
+    }
+
+    @Test
+    void testListOperations() {
+        for (List<Integer> list : newLists()) {
+            list.addAll(Arrays.asList(1, 2, 3));
+            list.add(1, 9);
+            assertEquals("[1, 9, 2, 3]", list.toString());
+            assertEquals(Integer.valueOf(9), list.set(1, 8));
+            assertEquals(Integer.valueOf(1), list.remove(0));
+            assertEquals(Arrays.asList(8, 2, 3), list);
+            assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+            list.clear();
+            assertTrue(list.isEmpty());
+        }
+    }
+
+    @Test
+    void testListIteratorByWindows() {
+        for (List<Integer> list : newLists()) {
+            List<Integer> values = new ArrayList<>();
+            for (int i = 0; i < 3 * WindowedIterator.WINDOW_SIZE + 5; i++) {
+                values.add(i);
+            }
+            list.addAll(values);
+            assertEquals(values, new ArrayList<>(list));
+            ListIterator<Integer> iterator = list.listIterator(list.size());
+            for (int i = values.size() - 1; i >= 0; i--) {
+                assertEquals(i, iterator.previousIndex());
+                assertEquals(values.get(i), iterator.previous());
+            }
+            assertFalse(iterator.hasPrevious());
+            assertEquals(values.get(0), iterator.next());
+            assertThrows(UnsupportedOperationException.class, () -> iterator.set(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> list.listIterator(values.size() + 1));
+        }
+    }
+
+    @Test
+    void testListIteratorWeaklyConsistent() {
+        for (List<Integer> list : newLists()) {
+            list.addAll(Arrays.asList(1, 2, 3, 4));
+            ListIterator<Integer> iterator = list.listIterator(1);
+            assertEquals(Integer.valueOf(2), iterator.next());
+            list.clear();                   // a concurrent shrink ends the iteration after the copied window
+            assertEquals(Integer.valueOf(3), iterator.next());
+            assertEquals(Integer.valueOf(4), iterator.next());
+            assertFalse(iterator.hasNext());
+            assertThrows(NoSuchElementException.class, iterator::next);
+
+            list.addAll(Arrays.asList(1, 2));
+            Iterator<Integer> fresh = list.iterator();
+            list.add(3);                    // not copied yet, so it shows
+            assertEquals(Arrays.asList(1, 2, 3), toList(fresh));
+        }
+    }
+
+    @Test
+    void testSubListFailFast_NEG() {
+        for (List<Integer> list : newLists()) {
+            list.addAll(Arrays.asList(1, 2, 3, 4));
+            List<Integer> range = list.subList(1, 3);
+            list.add(5);
+            assertThrows(ConcurrentModificationException.class, range::size);
+        }
+    }
+
+    @Test
+    void testConcurrentReadsAndWrites() throws InterruptedException {
+        for (List<Integer> list : newLists()) {
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        list.add(1);
+                        assertEquals(Integer.valueOf(1), list.get(i / 2));
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(40_000, list.size());
+        }
+    }
+
+    private static List<Integer> toList(Iterator<Integer> iterator) {
+        List<Integer> values = new ArrayList<>();
+        iterator.forEachRemaining(values::add);
+        return values;
+    }
+}
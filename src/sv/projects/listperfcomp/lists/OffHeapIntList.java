@@ -0,0 +1,151 @@
+package sv.projects.listperfcomp.lists;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A thread-safe int list stored off-heap in direct <code>ByteBuffer</code> segments, so its elements put no
+ * pressure on the garbage collector.
+ * <br>
+ * The list grows by adding segments of 65536 ints; already written segments are never copied.
+ * Modifications are serialized by one lock, the size is published after the element is written,
+ * so <code>get()</code> of an index below {@link #size()} is lock-free.
+ * Inserting or removing in the middle shifts all the following elements and is slow by design.
+ */
+
+public class OffHeapIntList extends AbstractList<Integer> implements IntList, RandomAccess {
+    private static final int SEGMENT_BITS = 16;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final Object lock = new Object();
+    private volatile IntBuffer[] segments = new IntBuffer[0];
+    private volatile int size;
+
+    @Override
+    public int getInt(int index) {
+        IntArrayList.checkIndex(index, size);
+        return segments[index >>> SEGMENT_BITS].get(index & SEGMENT_MASK);
+    }
+
+    @Override
+    public boolean addInt(int value) {
+        synchronized (lock) {
+            int tail = size;
+            if ((tail >>> SEGMENT_BITS) == segments.length) {
+                addSegment();
+            }
+            segments[tail >>> SEGMENT_BITS].put(tail & SEGMENT_MASK, value);
+            size = tail + 1;            // publishes the element
+            modCount++;
+            return true;
+        }
+    }
+
+    @Override
+    public boolean addAllInts(int[] values) {
+        synchronized (lock) {
+            int tail = size;
+            for (int copied = 0; copied < values.length; ) {
+                if ((tail >>> SEGMENT_BITS) == segments.length) {
+                    addSegment();
+                }
+                IntBuffer segment = segments[tail >>> SEGMENT_BITS].duplicate();
+                segment.position(tail & SEGMENT_MASK);
+                int length = Math.min(segment.remaining(), values.length - copied);
+                segment.put(values, copied, length);
+                copied += length;
+                tail += length;
+            }
+            size = tail;                // publishes the elements
+            modCount++;
+            return values.length != 0;
+        }
+    }
+
+    @Override
+    public int setInt(int index, int value) {
+        synchronized (lock) {
+            IntArrayList.checkIndex(index, size);
+            return swap(index, value);
+        }
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer element) {
+        return setInt(index, element);
+    }
+
+    @Override
+    public boolean add(Integer element) {
+        return addInt(element);
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+        synchronized (lock) {
+            IntArrayList.checkIndex(index, size + 1);
+            int shifted = element;
+            for (int i = index; i < size; i++) {
+                shifted = swap(i, shifted);
+            }
+            addInt(shifted);
+        }
+    }
+
+    @Override
+    public Integer remove(int index) {
+        synchronized (lock) {
+            IntArrayList.checkIndex(index, size);
+            int removed = getInt(index);
+            for (int i = index; i < size - 1; i++) {
+                swap(i, getInt(i + 1));
+            }
+            size--;
+            modCount++;
+            return removed;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            size = 0;
+            modCount++;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of bytes reserved off-heap by this list
+     */
+    public long getOffHeapBytes() {
+        return (long) segments.length * SEGMENT_SIZE * Integer.BYTES;
+    }
+
+    private int swap(int index, int value) {
+        IntBuffer segment = segments[index >>> SEGMENT_BITS];
+        int previous = segment.get(index & SEGMENT_MASK);
+        segment.put(index & SEGMENT_MASK, value);
+        return previous;
+    }
+
+    private void addSegment() {
+        IntBuffer[] grown = Arrays.copyOf(segments, segments.length + 1);
+        grown[segments.length] = ByteBuffer.allocateDirect(SEGMENT_SIZE * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        segments = grown;
+    }
+}
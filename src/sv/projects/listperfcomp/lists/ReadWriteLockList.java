@@ -0,0 +1,143 @@
+package sv.projects.listperfcomp.lists;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A thread-safe list backed by an <code>ArrayList</code> and guarded by a <code>ReentrantReadWriteLock</code>,
+ * so concurrent readers do not block each other, unlike in <code>Collections.synchronizedList</code>.
+ * Iterators and list iterators copy windows of consecutive elements, each under one read lock (see {@link WindowedIterator}),
+ * so they never fail under concurrent modifications, and do not support the modifying operations.
+ * The structural modifications are counted in <code>modCount</code>, so <code>subList()</code> views are fail-fast.
+ */
+
+public class ReadWriteLockList<E> extends AbstractList<E> implements RandomAccess {
+    private final List<E> elements = new ArrayList<>();
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    public ReadWriteLockList() {
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        readLock = lock.readLock();
+        writeLock = lock.writeLock();
+    }
+
+    @Override
+    public E get(int index) {
+        readLock.lock();
+        try {
+            return elements.get(index);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        readLock.lock();
+        try {
+            return elements.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public E set(int index, E element) {
+        writeLock.lock();
+        try {
+            return elements.set(index, element);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean add(E element) {
+        writeLock.lock();
+        try {
+            boolean modified = elements.add(element);
+            modCount++;
+            return modified;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> collection) {
+        writeLock.lock();
+        try {
+            boolean modified = elements.addAll(collection);
+            modCount++;
+            return modified;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        writeLock.lock();
+        try {
+            elements.add(index, element);
+            modCount++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        writeLock.lock();
+        try {
+            E previous = elements.remove(index);
+            modCount++;
+            return previous;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        writeLock.lock();
+        try {
+            elements.clear();
+            modCount++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new WindowedIterator<>(this::copyRange, 0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        IntArrayList.checkIndex(index, size() + 1);
+        return new WindowedIterator<>(this::copyRange, index);
+    }
+
+    private int copyRange(int fromIndex, Object[] window) {
+        readLock.lock();
+        try {
+            int count = Math.max(Math.min(elements.size() - fromIndex, window.length), 0);
+            for (int i = 0; i < count; i++) {
+                window[i] = elements.get(fromIndex + i);
+            }
+            return count;
+        } finally {
+            readLock.unlock();
+        }
+    }
+}
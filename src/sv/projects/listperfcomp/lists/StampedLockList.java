@@ -0,0 +1,183 @@
+package sv.projects.listperfcomp.lists;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A thread-safe array list guarded by a <code>StampedLock</code>.
+ * <code>get()</code> and <code>size()</code> first try an optimistic read that writes nothing to shared memory,
+ * and fall back to a read lock only if a write happened meanwhile. All modifications take the write lock.
+ * Iterators and list iterators copy windows of consecutive elements, each by an optimistic read falling back to a read lock
+ * (see {@link WindowedIterator}), so they never fail under concurrent modifications, and do not support the modifying operations.
+ */
+
+public class StampedLockList<E> extends AbstractList<E> implements RandomAccess {
+    private final StampedLock lock = new StampedLock();
+    private Object[] elements = new Object[10];
+    private int size;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        Object[] currentElements = elements;
+        int currentSize = size;
+        // NOTE, the values read optimistically may be inconsistent, they must not be trusted before validation
+        Object element = index >= 0 && index < currentSize && index < currentElements.length ? currentElements[index] : null;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                currentSize = size;
+                element = index >= 0 && index < currentSize ? elements[index] : null;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        IntArrayList.checkIndex(index, currentSize);
+        return (E) element;
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int currentSize = size;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                currentSize = size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return currentSize;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            IntArrayList.checkIndex(index, size);
+            E previous = (E) elements[index];
+            elements[index] = element;
+            return previous;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean add(E element) {
+        long stamp = lock.writeLock();
+        try {
+            ensureCapacity(size + 1);
+            elements[size++] = element;
+            modCount++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> collection) {
+        Object[] added = collection.toArray();
+        long stamp = lock.writeLock();
+        try {
+            ensureCapacity(size + added.length);
+            System.arraycopy(added, 0, elements, size, added.length);
+            size += added.length;
+            modCount++;
+            return added.length != 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            IntArrayList.checkIndex(index, size + 1);
+            ensureCapacity(size + 1);
+            System.arraycopy(elements, index, elements, index + 1, size - index);
+            elements[index] = element;
+            size++;
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            IntArrayList.checkIndex(index, size);
+            E previous = (E) elements[index];
+            System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+            elements[--size] = null;
+            modCount++;
+            return previous;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.fill(elements, 0, size, null);
+            size = 0;
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new WindowedIterator<>(this::copyRange, 0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        IntArrayList.checkIndex(index, size() + 1);
+        return new WindowedIterator<>(this::copyRange, index);
+    }
+
+    private int copyRange(int fromIndex, Object[] window) {
+        long stamp = lock.tryOptimisticRead();
+        Object[] currentElements = elements;
+        // NOTE, the size read optimistically may not match the array, the copy is bounded by both before validation
+        int count = Math.max(Math.min(Math.min(size, currentElements.length) - fromIndex, window.length), 0);
+        if (count > 0) {
+            System.arraycopy(currentElements, fromIndex, window, 0, count);
+        }
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                count = Math.max(Math.min(size - fromIndex, window.length), 0);
+                if (count > 0) {
+                    System.arraycopy(elements, fromIndex, window, 0, count);
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return count;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(minCapacity, elements.length + (elements.length >> 1)));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package sv.projects.listperfcomp.lists;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe growable <code>int[]</code> list guarded by lock striping.
+ * <br>
+ * The index space is split into blocks of 1024 elements, each block is guarded by one of 16 stripe locks, so
+ * <code>set()</code> calls on different parts of the list do not contend. An append locks the stripe of the
+ * current tail only. Structural changes (growing the array, inserting or removing in the middle, clearing) lock
+ * all the stripes in order. <code>get()</code> is lock-free and weakly consistent - it may observe a value that is
+ * being shifted by a concurrent insert or remove, but never an index outside the published size.
+ */
+
+public class StripedIntArrayList extends AbstractList<Integer> implements IntList, RandomAccess {
+    private static final VarHandle ELEMENT = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int STRIPES = 16;          // power of two
+    private static final int BLOCK_BITS = 10;       // 1024 elements per block
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private volatile int[] elements = new int[16];
+    private volatile int size;
+
+    public StripedIntArrayList() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public int getInt(int index) {
+        int currentSize = size;             // NOTE, size must be read before the array it is valid for
+        int[] current = elements;
+        IntArrayList.checkIndex(index, Math.min(currentSize, current.length));
+        return (int) ELEMENT.getAcquire(current, index);
+    }
+
+    @Override
+    public boolean addInt(int value) {
+        while (true) {
+            int tail = size;
+            ReentrantLock stripe = getStripe(tail);
+            stripe.lock();
+            try {
+                if (tail == size && tail < elements.length) {
+                    elements[tail] = value;
+                    size = tail + 1;        // publishes the element
+                    modCount++;
+                    return true;
+                }
+            } finally {
+                stripe.unlock();
+            }
+            if (tail == size) {
+                grow(tail + 1);
+            }
+        }
+    }
+
+    @Override
+    public boolean addAllInts(int[] values) {
+        lockAllStripes();
+        try {
+            int[] current = size + values.length > elements.length ? Arrays.copyOf(elements, newCapacity(size + values.length)) : elements;
+            System.arraycopy(values, 0, current, size, values.length);
+            elements = current;
+            size += values.length;              // publishes the elements
+            modCount++;
+            return values.length != 0;
+        } finally {
+            unlockAllStripes();
+        }
+    }
+
+    @Override
+    public int setInt(int index, int value) {
+        ReentrantLock stripe = getStripe(index);
+        stripe.lock();
+        try {
+            IntArrayList.checkIndex(index, size);
+            int[] current = elements;
+            int previous = current[index];
+            ELEMENT.setRelease(current, index, value);
+            return previous;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer element) {
+        return setInt(index, element);
+    }
+
+    @Override
+    public boolean add(Integer element) {
+        return addInt(element);
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+        lockAllStripes();
+        try {
+            IntArrayList.checkIndex(index, size + 1);
+            int[] current = size == elements.length ? Arrays.copyOf(elements, newCapacity(size + 1)) : elements;
+            System.arraycopy(current, index, current, index + 1, size - index);
+            current[index] = element;
+            elements = current;
+            size++;
+            modCount++;
+        } finally {
+            unlockAllStripes();
+        }
+    }
+
+    @Override
+    public Integer remove(int index) {
+        lockAllStripes();
+        try {
+            IntArrayList.checkIndex(index, size);
+            int previous = elements[index];
+            System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+            size--;
+            modCount++;
+            return previous;
+        } finally {
+            unlockAllStripes();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lockAllStripes();
+        try {
+            size = 0;
+            modCount++;
+        } finally {
+            unlockAllStripes();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        int currentSize = size;
+        return Arrays.stream(Arrays.copyOf(elements, currentSize)).iterator();
+    }
+
+    private void grow(int minCapacity) {
+        lockAllStripes();
+        try {
+            if (elements.length < minCapacity) {
+                elements = Arrays.copyOf(elements, newCapacity(minCapacity));
+            }
+        } finally {
+            unlockAllStripes();
+        }
+    }
+
+    private int newCapacity(int minCapacity) {
+        return Math.max(minCapacity, elements.length + (elements.length >> 1));
+    }
+
+    private ReentrantLock getStripe(int index) {
+        return stripes[(index >>> BLOCK_BITS) & (STRIPES - 1)];
+    }
+
+    private void lockAllStripes() {
+        for (ReentrantLock stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    private void unlockAllStripes() {
+        for (int i = STRIPES - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package sv.projects.listperfcomp.lists;
+
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A read-only list iterator of the lock-guarded lists ({@link ReadWriteLockList}, {@link StampedLockList}) that copies
+ * a window of consecutive elements at a time, each window under one read of the lock, instead of the whole list.
+ * <br>
+ * The iterator is weakly consistent - every window is consistent in itself, modifications made between two windows
+ * show in the later window. It never throws <code>ConcurrentModificationException</code>, an iteration over a list
+ * shrunk meanwhile ends at the new end of the list.
+ */
+
+final class WindowedIterator<E> implements ListIterator<E> {
+    static final int WINDOW_SIZE = 64;
+
+    /**
+     * Copies the elements of a list from an index into a window.
+     */
+    interface Source {
+        /**
+         * @return the number of copied elements, less than the window length at the end of the list
+         */
+        int copyRange(int fromIndex, Object[] window);
+    }
+
+    private final Source source;
+    private final Object[] window = new Object[WINDOW_SIZE];
+    private int windowStart;
+    private int windowCount;
+    private int cursor;
+
+    WindowedIterator(Source source, int index) {
+        this.source = source;
+        this.windowStart = index;
+        this.cursor = index;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return isInWindow(cursor) || load(cursor) > 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return (E) window[cursor++ - windowStart];
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return cursor > 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E previous() {
+        int index = cursor - 1;
+        if (index < 0 || (!isInWindow(index) && (load(Math.max(index - WINDOW_SIZE + 1, 0)) == 0 || !isInWindow(index)))) {
+            throw new NoSuchElementException();
+        }
+        cursor = index;
+        return (E) window[index - windowStart];
+    }
+
+    @Override
+    public int nextIndex() {
+        return cursor;
+    }
+
+    @Override
+    public int previousIndex() {
+        return cursor - 1;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void set(E element) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void add(E element) {
+        throw new UnsupportedOperationException();
+    }
+
+    private boolean isInWindow(int index) {
+        return index >= windowStart && index < windowStart + windowCount;
+    }
+
+    private int load(int fromIndex) {
+        windowStart = fromIndex;
+        windowCount = source.copyRange(fromIndex, window);
+        return windowCount;
+    }
+}